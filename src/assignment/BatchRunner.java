@@ -0,0 +1,395 @@
+package assignment;
+
+import java.io.*;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Executes member commands from a script or piped input without prompts.
+ * Each non-empty line is one comma-separated command; lines starting with
+ * '#' are comments. A single summary is printed when the script finishes.
+ *
+ * Supported commands:
+ * <pre>
+ * add,REGULAR,ID,Name,Age,BaseFee,Rating,Goal
+ * add,PT,ID,Name,Age,BaseFee,Rating,Goal,TrainerFee
+ * update,ID,field,value      (field: name, age, basefee, rating, goal, trainerfee)
+ * delete,ID
+ * search,id,ID | search,name,query | search,performance,min,max
+ * search,declining,minDrop,updates
+ * search,prefix,text[,limit[,rating|recent]]
+ * search,fuzzy,name[,maxDistance[,limit]]
+ * search,filter,pt|regular|any,yes|no|any,minRating,maxRating   (counts matches)
+ * letters,reminder,maxRating | letters,appreciation,minRating
+ * discount,minRating,percent
+ * duplicates                 (count probable duplicate members)
+ * rules,path                 (reload fee discount rules)
+ * invoices,path[,YYYY-MM]    (write the monthly invoice ledger; default this month)
+ * load
+ * save[,force]               (force: overwrite a file whose load skipped records)
+ * export,json|ndjson,path
+ * sort,id|name|fee,path      (export sorted; format from the file extension)
+ * import,path                (JSON array or NDJSON)
+ * upsert,path                (apply a delta CSV, see MemberDelta)
+ * diff,left,right,report     (reconcile two member files, see MemberFileDiff)
+ * verify,path                (check a data file's checksums)
+ * </pre>
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class BatchRunner {
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final MemberManager manager;
+    // Commands executed successfully, by command name
+    private final Map<String, Integer> commandCounts = new TreeMap<>();
+    private final List<String> errors = new ArrayList<>();
+    private int failed;
+    private long searchMatches;
+    private long lettersSent;
+    private long discountsAwarded;
+    private long duplicatesFound;
+    private long invoicesWritten;
+    private long upserted;
+    private long differences;
+    private long corruptBlocks;
+
+    /**
+     * Constructor for BatchRunner.
+     *
+     * @param manager The member manager to apply commands to
+     */
+    public BatchRunner(MemberManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Runs every command read from the given source and prints a summary.
+     *
+     * @param reader Source of commands
+     * @throws IOException if the commands cannot be read
+     */
+    public void run(BufferedReader reader) throws IOException {
+        long start = System.nanoTime();
+        manager.setVerbose(false);
+
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                try {
+                    String command = execute(line);
+                    commandCounts.merge(command, 1, Integer::sum);
+                } catch (Exception e) {
+                    failed++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("line " + lineNumber + ": " + e.getMessage());
+                    }
+                }
+            }
+        } finally {
+            manager.setVerbose(true);
+        }
+
+        printSummary((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    /**
+     * Executes a single command line.
+     *
+     * @param line The command to execute
+     * @return Name of the command that was executed
+     * @throws IllegalArgumentException if the command is unknown or invalid
+     */
+    private String execute(String line) {
+        String[] parts = line.split(",", -1);
+        String command = parts[0].trim().toLowerCase();
+
+        switch (command) {
+            case "add":
+                manager.addMember(MemberManager.parseMemberFromCSV(line.substring(line.indexOf(',') + 1)));
+                break;
+            case "update":
+                requireArgs(parts, 4);
+                update(parts[1].trim(), parts[2].trim().toLowerCase(), parts[3].trim());
+                break;
+            case "delete":
+                requireArgs(parts, 2);
+                if (!manager.deleteById(parts[1])) {
+                    throw new IllegalArgumentException("Member not found with ID: " + parts[1].trim());
+                }
+                break;
+            case "search":
+                requireArgs(parts, 3);
+                search(parts);
+                break;
+            case "letters":
+                requireArgs(parts, 3);
+                letters(parts[1].trim().toLowerCase(), parseRating(parts[2]));
+                break;
+            case "discount":
+                requireArgs(parts, 3);
+                discountsAwarded += manager.awardDiscounts(parseRating(parts[1]), Double.parseDouble(parts[2].trim()));
+                break;
+            case "duplicates":
+                duplicatesFound += manager.findDuplicates().size();
+                break;
+            case "rules":
+                requireArgs(parts, 2);
+                if (!manager.reloadFeeRules(parts[1].trim())) {
+                    throw new IllegalArgumentException("Fee rules not loaded from " + parts[1].trim());
+                }
+                break;
+            case "invoices":
+                requireArgs(parts, 2);
+                YearMonth period = parts.length > 2 ? YearMonth.parse(parts[2].trim()) : YearMonth.now();
+                InvoiceRun.Summary summary = manager.generateInvoices(parts[1].trim(), period);
+                if (summary == null) {
+                    throw new IllegalArgumentException("Invoices not written to " + parts[1].trim());
+                }
+                invoicesWritten += summary.getInvoiceCount();
+                break;
+            case "diff":
+                requireArgs(parts, 4);
+                MemberFileDiff.Summary diff = MemberManager.diffFiles(parts[1].trim(), parts[2].trim(),
+                        parts[3].trim());
+                if (diff == null) {
+                    throw new IllegalArgumentException("Files not compared: " + parts[1].trim()
+                            + ", " + parts[2].trim());
+                }
+                differences += diff.getAdded() + diff.getRemoved() + diff.getChanged();
+                break;
+            case "verify":
+                requireArgs(parts, 2);
+                MemberFileVerifier.Report report = MemberManager.verifyFile(parts[1].trim());
+                if (report == null) {
+                    throw new IllegalArgumentException("File not verified: " + parts[1].trim());
+                }
+                corruptBlocks += report.getCorruptBlocks().size();
+                break;
+            case "load":
+                if (!manager.loadFromFile()) {
+                    throw new IllegalArgumentException("Members not loaded");
+                }
+                break;
+            case "save":
+                if (parts.length > 1 && parts[1].trim().equalsIgnoreCase("force")) {
+                    manager.confirmOverwrite();
+                } else if (parts.length > 1) {
+                    throw new IllegalArgumentException("Unknown save option: " + parts[1].trim());
+                }
+                if (!manager.saveToFile()) {
+                    throw new IllegalArgumentException("Members not saved");
+                }
+                break;
+            case "export":
+                requireArgs(parts, 3);
+                String format = parts[1].trim().toLowerCase();
+                if (!format.equals("json") && !format.equals("ndjson")) {
+                    throw new IllegalArgumentException("Unknown export format: " + format);
+                }
+                if (!manager.exportToJson(parts[2].trim(), format.equals("ndjson"))) {
+                    throw new IllegalArgumentException("Members not exported to " + parts[2].trim());
+                }
+                break;
+            case "sort":
+                requireArgs(parts, 3);
+                if (!manager.exportSorted(parts[2].trim(), MemberSorter.Key.parse(parts[1]))) {
+                    throw new IllegalArgumentException("Members not exported to " + parts[2].trim());
+                }
+                break;
+            case "import":
+                requireArgs(parts, 2);
+                if (manager.importFromJson(parts[1].trim()) < 0) {
+                    throw new IllegalArgumentException("Import from " + parts[1].trim() + " failed");
+                }
+                break;
+            case "upsert":
+                requireArgs(parts, 2);
+                MemberManager.UpsertResult result = manager.upsertFromFile(parts[1].trim());
+                if (result == null) {
+                    throw new IllegalArgumentException("Delta file not applied: " + parts[1].trim());
+                }
+                upserted += result.getInserted() + result.getUpdated();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + parts[0].trim());
+        }
+        return command;
+    }
+
+    private void update(String id, String field, String value) {
+        switch (field) {
+            case "name":
+                manager.updateMember(id, m -> m.setName(value));
+                break;
+            case "age":
+                int age = Integer.parseInt(value);
+                manager.updateMember(id, m -> m.setAge(age));
+                break;
+            case "basefee":
+                double baseFee = Double.parseDouble(value);
+                manager.updateMember(id, m -> m.setBaseFee(baseFee));
+                break;
+            case "rating":
+                int rating = Integer.parseInt(value);
+                manager.updateMember(id, m -> m.setPerformanceRating(rating));
+                break;
+            case "goal":
+                boolean goal = Boolean.parseBoolean(value) || value.equalsIgnoreCase("y");
+                manager.updateMember(id, m -> m.setAchievedGoal(goal));
+                break;
+            case "trainerfee":
+                double trainerFee = Double.parseDouble(value);
+                if (!(manager.getById(id) instanceof PTMember)) {
+                    throw new IllegalArgumentException("Member " + id + " is not a PT member");
+                }
+                manager.updateMember(id, m -> ((PTMember) m).setTrainerFee(trainerFee));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    private void search(String[] parts) {
+        String mode = parts[1].trim().toLowerCase();
+        switch (mode) {
+            case "id":
+                searchMatches += (manager.getById(parts[2]) != null) ? 1 : 0;
+                break;
+            case "name":
+                searchMatches += manager.searchByName(parts[2]).size();
+                break;
+            case "performance":
+                requireArgs(parts, 4);
+                searchMatches += manager.searchByPerformance(parseRating(parts[2]), parseRating(parts[3])).size();
+                break;
+            case "declining":
+                requireArgs(parts, 4);
+                searchMatches += manager.findDecliningMembers(parseRating(parts[2]),
+                        Integer.parseInt(parts[3].trim())).size();
+                break;
+            case "prefix":
+                int limit = parts.length > 3 ? Integer.parseInt(parts[3].trim()) : 10;
+                MemberPrefixIndex.Rank rank = parts.length > 4 && parts[4].trim().equalsIgnoreCase("recent")
+                        ? MemberPrefixIndex.Rank.RECENCY : MemberPrefixIndex.Rank.RATING;
+                searchMatches += manager.searchByPrefix(parts[2], limit, rank).size();
+                break;
+            case "fuzzy":
+                int maxDistance = parts.length > 3 ? Integer.parseInt(parts[3].trim()) : 2;
+                int fuzzyLimit = parts.length > 4 ? Integer.parseInt(parts[4].trim()) : 10;
+                searchMatches += manager.searchByNameFuzzy(parts[2], maxDistance, fuzzyLimit).size();
+                break;
+            case "filter":
+                requireArgs(parts, 6);
+                searchMatches += manager.count(parseFilter(parts));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown search mode: " + mode);
+        }
+    }
+
+    private void letters(String kind, int rating) {
+        switch (kind) {
+            case "reminder":
+                lettersSent += manager.issueReminderLetters(rating);
+                break;
+            case "appreciation":
+                lettersSent += manager.issueAppreciationLetters(rating);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown letter type: " + kind);
+        }
+    }
+
+    /**
+     * Builds the filter of a search,filter command.
+     */
+    private static MemberFilter parseFilter(String[] parts) {
+        MemberFilter filter = MemberFilter.ratingBetween(parseRating(parts[4]), parseRating(parts[5]));
+        String type = parts[2].trim().toLowerCase();
+        if (type.equals("pt")) {
+            filter = MemberFilter.ptMembers().and(filter);
+        } else if (type.equals("regular")) {
+            filter = MemberFilter.regularMembers().and(filter);
+        } else if (!type.equals("any")) {
+            throw new IllegalArgumentException("Unknown member type: " + parts[2].trim());
+        }
+        String goal = parts[3].trim().toLowerCase();
+        if (goal.equals("yes")) {
+            filter = filter.and(MemberFilter.achievedGoal());
+        } else if (goal.equals("no")) {
+            filter = filter.and(MemberFilter.achievedGoal().not());
+        } else if (!goal.equals("any")) {
+            throw new IllegalArgumentException("Goal must be yes, no or any");
+        }
+        return filter;
+    }
+
+    private static void requireArgs(String[] parts, int count) {
+        if (parts.length < count) {
+            throw new IllegalArgumentException("'" + parts[0].trim() + "' expects " + (count - 1) + " argument(s)");
+        }
+    }
+
+    private static int parseRating(String value) {
+        int rating = Integer.parseInt(value.trim());
+        if (rating < 0 || rating > 100) {
+            throw new IllegalArgumentException("Performance rating must be between 0 and 100");
+        }
+        return rating;
+    }
+
+    /**
+     * Prints the totals for the batch run.
+     */
+    private void printSummary(double seconds) {
+        int succeeded = 0;
+        for (int count : commandCounts.values()) {
+            succeeded += count;
+        }
+
+        System.out.println("\n═══ BATCH SUMMARY ═══");
+        System.out.printf("Commands: %d succeeded, %d failed in %.3f s (%.0f ops/s)\n",
+                succeeded, failed, seconds, seconds > 0 ? (succeeded + failed) / seconds : 0.0);
+        for (Map.Entry<String, Integer> entry : commandCounts.entrySet()) {
+            System.out.printf("   %-10s %d\n", entry.getKey(), entry.getValue());
+        }
+        System.out.println("Search matches: " + searchMatches);
+        System.out.println("Letters sent: " + lettersSent);
+        System.out.println("Discounts awarded: " + discountsAwarded);
+        if (commandCounts.containsKey("duplicates")) {
+            System.out.println("Probable duplicates: " + duplicatesFound);
+        }
+        if (commandCounts.containsKey("upsert")) {
+            System.out.println("Members upserted: " + upserted);
+        }
+        if (commandCounts.containsKey("invoices")) {
+            System.out.println("Invoices written: " + invoicesWritten);
+        }
+        if (commandCounts.containsKey("diff")) {
+            System.out.println("Differences found: " + differences);
+        }
+        if (commandCounts.containsKey("verify")) {
+            System.out.println("Corrupt blocks found: " + corruptBlocks);
+        }
+        System.out.println("Members now: " + manager.getMemberCount());
+
+        if (!errors.isEmpty()) {
+            System.out.println("Errors:");
+            for (String error : errors) {
+                System.out.println("   ✗ " + error);
+            }
+            if (failed > errors.size()) {
+                System.out.println("   ... and " + (failed - errors.size()) + " more");
+            }
+        }
+    }
+}
@@ -0,0 +1,589 @@
+package assignment;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs letter and discount campaigns as background jobs, one at a time, so
+ * the menu stays responsive while a large campaign runs.
+ *
+ * A job goes through a snapshot of the members in ID order, in batches.
+ * Discounts of a batch are applied under one short lock; batches are spaced
+ * out to stay below a rate limit. Reminder and appreciation letters are
+ * appended to a letters file (Letter,MemberID,Name,Rating).
+ *
+ * After every batch the job appends a checkpoint to its journal file in the
+ * campaign directory:
+ * <pre>
+ * CAMPAIGN,DISCOUNT,90,10.0,-
+ * D,M001,5000,4500     (discount: member ID, base fee in cents before and after)
+ * BATCH,m001,1000,87,0 (last ID key, members processed, matched, letter bytes)
+ * STOPPED              (stopped by the user; RESUMED when continued)
+ * DONE
+ * </pre>
+ * A stopped or interrupted job continues after its last checkpoint. The
+ * letters file is cut back to the checkpointed length first. Discounts are
+ * journaled before they are applied, and they last only once the members
+ * are saved, so a resumed job goes through every journaled discount: one
+ * whose member still has the fee from before it (lost by an exit without
+ * saving, or never applied) is applied again, one whose member has the fee
+ * from after it is kept, and one whose member has changed or was deleted
+ * since is reported by ID. No member is discounted twice.
+ *
+ * Interrupted jobs are resumed when the program starts again; jobs the user
+ * stopped are listed but stay stopped until resumed.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class CampaignScheduler {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MEMBERS_PER_SECOND = 20_000;
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    /**
+     * Kinds of campaign.
+     */
+    public enum Kind {
+        REMINDER, APPRECIATION, DISCOUNT;
+
+        /**
+         * Checks whether a member is selected; reminders go to ratings at or
+         * below the threshold, the others to ratings at or above it.
+         */
+        boolean selects(Member member, int threshold) {
+            int rating = member.getPerformanceRating();
+            return this == REMINDER ? rating <= threshold : rating >= threshold;
+        }
+    }
+
+    /**
+     * States of a job.
+     */
+    public enum State {
+        QUEUED, RUNNING, STOPPED, DONE, FAILED
+    }
+
+    /**
+     * One campaign and its progress.
+     */
+    public static final class Job {
+        private final Path journal;
+        private final Kind kind;
+        private final int threshold;
+        private final double percent;
+        private final Path letters;
+        private volatile State state = State.QUEUED;
+        private volatile boolean stopRequested;
+        private volatile int total;
+        private volatile int processed;
+        private volatile int matched;
+        private volatile String error;
+        // Journaled discounts that could not be applied again on resume, by member ID
+        private final List<String> lostDiscounts = new CopyOnWriteArrayList<>();
+
+        Job(Path journal, Kind kind, int threshold, double percent, Path letters) {
+            this.journal = journal;
+            this.kind = kind;
+            this.threshold = threshold;
+            this.percent = percent;
+            this.letters = letters;
+        }
+
+        /**
+         * Returns the job name (its journal file name without extension).
+         */
+        public String getName() {
+            String file = journal.getFileName().toString();
+            return file.substring(0, file.length() - JOURNAL_SUFFIX.length());
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public int getProcessed() {
+            return processed;
+        }
+
+        /**
+         * Returns the number of members selected (letters written or discounts due).
+         */
+        public int getMatched() {
+            return matched;
+        }
+
+        /**
+         * Returns the IDs of members whose journaled discount was lost and
+         * could not be applied again, because they changed or were deleted
+         * since.
+         */
+        public List<String> getLostDiscounts() {
+            return new ArrayList<>(lostDiscounts);
+        }
+
+        /**
+         * Returns the letters file, or null for a discount campaign.
+         */
+        public Path getLettersFile() {
+            return letters;
+        }
+
+        /**
+         * Returns the progress of the job.
+         *
+         * @return Percentage of members processed (0-100)
+         */
+        public int getProgress() {
+            int all = total;
+            return all == 0 ? (state == State.DONE ? 100 : 0) : (int) (processed * 100L / all);
+        }
+
+        /**
+         * Asks the job to stop after its current batch. It can be resumed later.
+         */
+        public void stop() {
+            stopRequested = true;
+        }
+
+        /**
+         * Returns a one-line description of the job's progress.
+         */
+        public String getStatus() {
+            String status = getName() + ": " + state + " " + getProgress() + "% ("
+                    + processed + " processed, " + matched
+                    + (kind == Kind.DISCOUNT ? " discounts" : " letters") + ")";
+            if (!lostDiscounts.isEmpty()) {
+                status += " - " + lostDiscounts.size() + " discount(s) not applied: " + describe(lostDiscounts);
+            }
+            return error == null ? status : status + " - " + error;
+        }
+    }
+
+    /**
+     * Lists up to ten IDs for a message.
+     */
+    private static String describe(List<String> ids) {
+        return String.join(", ", ids.subList(0, Math.min(10, ids.size()))) + (ids.size() > 10 ? ", ..." : "");
+    }
+
+    /**
+     * A member with its ID key, for sorting a snapshot into ID order.
+     */
+    private static final class Entry {
+        final String key;
+        final Member member;
+
+        Entry(Member member) {
+            this.key = MemberManager.idKey(member.getId());
+            this.member = member;
+        }
+    }
+
+    private final MemberManager manager;
+    private final Path directory;
+    private final int batchSize;
+    private final int membersPerSecond;
+    private final List<Job> jobs = new CopyOnWriteArrayList<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "campaign-scheduler");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Constructor for CampaignScheduler.
+     *
+     * @param manager          Members to run campaigns on
+     * @param directory        Directory for journals and letters files
+     * @param batchSize        Members per batch (and per checkpoint)
+     * @param membersPerSecond Maximum rate at which members are processed
+     */
+    public CampaignScheduler(MemberManager manager, Path directory, int batchSize, int membersPerSecond) {
+        if (batchSize < 1 || membersPerSecond < 1) {
+            throw new IllegalArgumentException("Batch size and rate must be positive");
+        }
+        this.manager = manager;
+        this.directory = directory;
+        this.batchSize = batchSize;
+        this.membersPerSecond = membersPerSecond;
+    }
+
+    /**
+     * Queues a new campaign.
+     *
+     * @param kind      Kind of campaign
+     * @param threshold Rating threshold (0-100)
+     * @param percent   Discount percentage (discount campaigns only)
+     * @return The queued job
+     * @throws IOException if the journal cannot be created
+     */
+    public Job start(Kind kind, int threshold, double percent) throws IOException {
+        if (threshold < 0 || threshold > 100) {
+            throw new IllegalArgumentException("Rating threshold must be between 0 and 100");
+        }
+        if (kind == Kind.DISCOUNT && (percent <= 0 || percent > 100)) {
+            throw new IllegalArgumentException("Discount must be between 0 and 100 percent");
+        }
+        Files.createDirectories(directory);
+        String name = kind.name().toLowerCase(Locale.ROOT) + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path journal = directory.resolve(name + JOURNAL_SUFFIX);
+        for (int n = 2; Files.exists(journal); n++) {
+            journal = directory.resolve(name + "-" + n + JOURNAL_SUFFIX);
+        }
+        Path letters = kind == Kind.DISCOUNT ? null
+                : directory.resolve(journal.getFileName().toString().replace(JOURNAL_SUFFIX, "-letters.csv"));
+
+        Job job = new Job(journal, kind, threshold, percent, letters);
+        String lettersName = letters == null ? "-" : letters.getFileName().toString();
+        Files.write(journal, Collections.singletonList("CAMPAIGN," + kind + "," + threshold + "," + percent
+                + "," + lettersName), StandardCharsets.UTF_8);
+        return submit(job);
+    }
+
+    /**
+     * Queues every unfinished campaign found in the campaign directory, e.g.
+     * after the program was closed while campaigns were running. Campaigns
+     * the user stopped are added to the job list as stopped, not run.
+     *
+     * @return The resumed jobs
+     */
+    public List<Job> resumeUnfinished() {
+        List<Job> resumed = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return resumed;
+        }
+        List<Path> journals = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + JOURNAL_SUFFIX)) {
+            files.forEach(journals::add);
+        } catch (IOException e) {
+            System.err.println("✗ Error reading campaign directory: " + e.getMessage());
+            return resumed;
+        }
+        Collections.sort(journals);
+
+        for (Path journal : journals) {
+            if (findJob(journal) != null) {
+                continue;
+            }
+            try {
+                List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+                if (lines.isEmpty() || lines.get(lines.size() - 1).equals("DONE")) {
+                    continue;
+                }
+                String[] header = lines.get(0).split(",");
+                if (header.length < 5 || !header[0].equals("CAMPAIGN")) {
+                    throw new IllegalArgumentException("not a campaign journal");
+                }
+                Path letters = header[4].equals("-") ? null : directory.resolve(header[4]);
+                Job job = new Job(journal, Kind.valueOf(header[1]), Integer.parseInt(header[2]),
+                        Double.parseDouble(header[3]), letters);
+                if (lines.get(lines.size() - 1).equals("STOPPED")) {
+                    restoreProgress(job, lines);
+                    job.state = State.STOPPED;
+                    jobs.add(job);
+                } else {
+                    resumed.add(submit(job));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("⚠ Skipping campaign " + journal.getFileName() + ": " + e.getMessage());
+            }
+        }
+        return resumed;
+    }
+
+    /**
+     * Queues a stopped or failed job again; it continues after its last
+     * checkpoint.
+     *
+     * @param job The job to resume
+     */
+    public void resume(Job job) {
+        if (job.state == State.STOPPED || job.state == State.FAILED) {
+            submit(job);
+        }
+    }
+
+    public List<Job> getJobs() {
+        return new ArrayList<>(jobs);
+    }
+
+    /**
+     * Returns the job that is running, if any.
+     *
+     * @return The running job, or null
+     */
+    public Job getRunningJob() {
+        for (Job job : jobs) {
+            if (job.state == State.RUNNING) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private Job findJob(Path journal) {
+        for (Job job : jobs) {
+            if (job.journal.equals(journal)) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    private Job submit(Job job) {
+        job.state = State.QUEUED;
+        job.stopRequested = false;
+        job.error = null;
+        if (!jobs.contains(job)) {
+            jobs.add(job);
+        }
+        worker.submit(() -> {
+            try {
+                job.state = State.RUNNING;
+                job.state = run(job) ? State.DONE : State.STOPPED;
+            } catch (IOException | RuntimeException e) {
+                job.error = e.getMessage();
+                job.state = State.FAILED;
+                System.err.println("✗ Campaign " + job.getName() + " failed: " + e.getMessage());
+            }
+        });
+        return job;
+    }
+
+    /**
+     * The state a job's journal records: its last checkpoint and the
+     * discounts journaled so far.
+     */
+    private static final class Checkpoint {
+        String lastKey = "";
+        long letterBytes;
+        // Every journaled discount: base fee in cents before and after, by member ID
+        final Map<String, long[]> discounts = new LinkedHashMap<>();
+        // ID keys of the discounts of the batch interrupted before its checkpoint
+        final Set<String> uncheckpointed = new HashSet<>();
+    }
+
+    /**
+     * Reads a job's last checkpoint from its journal and restores the
+     * job's counters.
+     */
+    private static Checkpoint restoreProgress(Job job, List<String> lines) {
+        Checkpoint checkpoint = new Checkpoint();
+        for (String line : lines) {
+            // IDs may contain commas, so numbers are taken from the end of the line
+            String[] fields = line.split(",", -1);
+            int last = fields.length - 1;
+            if (fields[0].equals("D")) {
+                String id = String.join(",", Arrays.copyOfRange(fields, 1, last - 1));
+                checkpoint.discounts.put(id, new long[] { Long.parseLong(fields[last - 1]), Long.parseLong(fields[last]) });
+                checkpoint.uncheckpointed.add(MemberManager.idKey(id));
+            } else if (fields[0].equals("BATCH")) {
+                checkpoint.lastKey = String.join(",", Arrays.copyOfRange(fields, 1, last - 2));
+                job.processed = Integer.parseInt(fields[last - 2]);
+                job.matched = Integer.parseInt(fields[last - 1]);
+                checkpoint.letterBytes = Long.parseLong(fields[last]);
+                checkpoint.uncheckpointed.clear();
+            }
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Runs a job from its last checkpoint.
+     *
+     * @return true if the job finished, false if it was stopped
+     */
+    private boolean run(Job job) throws IOException {
+        List<String> lines = Files.readAllLines(job.journal, StandardCharsets.UTF_8);
+        Checkpoint checkpoint = restoreProgress(job, lines);
+        String lastKey = checkpoint.lastKey;
+        // The interrupted batch is repeated; its journaled members are not journaled again
+        Set<String> uncheckpointed = checkpoint.uncheckpointed;
+
+        manager.awaitLoaded();
+        job.lostDiscounts.clear();
+        if (!checkpoint.discounts.isEmpty()) {
+            reapplyDiscounts(job, checkpoint.discounts);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (Member member : manager.snapshot()) {
+            entries.add(new Entry(member));
+        }
+        entries.sort((a, b) -> a.key.compareTo(b.key));
+        int next = 0;
+        while (next < entries.size() && entries.get(next).key.compareTo(lastKey) <= 0) {
+            next++;
+        }
+        job.total = job.processed + entries.size() - next;
+
+        try (FileChannel journal = FileChannel.open(job.journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                FileChannel letters = job.letters == null ? null : openLetters(job.letters, checkpoint.letterBytes)) {
+            if (lines.get(lines.size() - 1).equals("STOPPED")) {
+                write(journal, "RESUMED\n");
+            }
+            long start = System.nanoTime();
+            int processedHere = 0;
+
+            while (next < entries.size()) {
+                if (job.stopRequested) {
+                    // A stopped job is not resumed automatically on the next start
+                    write(journal, "STOPPED\n");
+                    journal.force(false);
+                    return false;
+                }
+                int end = Math.min(next + batchSize, entries.size());
+                StringBuilder journalText = new StringBuilder();
+                StringBuilder letterText = new StringBuilder();
+                Map<String, Long> discounts = new LinkedHashMap<>();
+                int matched = 0;
+
+                for (int i = next; i < end; i++) {
+                    Entry entry = entries.get(i);
+                    if (!job.kind.selects(entry.member, job.threshold)) {
+                        continue;
+                    }
+                    matched++;
+                    if (job.kind != Kind.DISCOUNT) {
+                        letterText.append(job.kind).append(',').append(entry.member.getId().replace(",", ";"))
+                            .append(',').append(entry.member.getName().replace(",", ";"))
+                            .append(',').append(entry.member.getPerformanceRating()).append(System.lineSeparator());
+                    } else if (!uncheckpointed.contains(entry.key)) {
+                        Member current = manager.getById(entry.member.getId());
+                        if (current != null) {
+                            long cents = MemberStats.toCents(current.getBaseFee());
+                            Member discounted = current.copy();
+                            discounted.applyDiscountPercent(job.percent);
+                            discounts.put(current.getId(), cents);
+                            journalText.append("D,").append(current.getId()).append(',').append(cents).append(',')
+                                .append(MemberCsvWriter.fileCents(discounted.getBaseFee())).append('\n');
+                        }
+                    }
+                }
+
+                if (letters != null) {
+                    write(letters, letterText.toString());
+                    letters.force(false);
+                }
+                if (!discounts.isEmpty()) {
+                    // Journal first: a discount is never applied without a record of it
+                    write(journal, journalText.toString());
+                    journal.force(false);
+                    manager.applyDiscounts(discounts, job.percent);
+                }
+
+                processedHere += end - next;
+                job.processed += end - next;
+                job.matched += matched;
+                write(journal, "BATCH," + entries.get(end - 1).key + "," + job.processed + "," + job.matched
+                        + "," + (letters == null ? 0 : letters.size()) + "\n");
+                journal.force(false);
+                uncheckpointed.clear();
+                next = end;
+
+                throttle(start, processedHere);
+            }
+            write(journal, "DONE\n");
+        }
+        return true;
+    }
+
+    /**
+     * Applies again the journaled discounts whose members still have the fee
+     * from before them, e.g. because the program exited without saving, and
+     * reports those whose members changed or were deleted since.
+     */
+    private void reapplyDiscounts(Job job, Map<String, long[]> journaled) {
+        Map<String, Long> missing = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : journaled.entrySet()) {
+            long before = entry.getValue()[0];
+            long after = entry.getValue()[1];
+            Member current = manager.getById(entry.getKey());
+            if (current == null) {
+                job.lostDiscounts.add(entry.getKey());
+            } else if (MemberStats.toCents(current.getBaseFee()) == before && before != after) {
+                missing.put(entry.getKey(), before);
+            } else if (!hasFee(current, after)) {
+                job.lostDiscounts.add(entry.getKey());
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Members changed in the meantime no longer match and are reported
+            int applied = manager.applyDiscounts(missing, job.percent);
+            if (applied > 0) {
+                System.out.println("✓ Campaign " + job.getName() + ": applied " + applied
+                        + " unsaved discount(s) again");
+            }
+            for (String id : missing.keySet()) {
+                Member current = manager.getById(id);
+                if (current == null || !hasFee(current, journaled.get(id)[1])) {
+                    job.lostDiscounts.add(id);
+                }
+            }
+        }
+        if (!job.lostDiscounts.isEmpty()) {
+            System.err.println("⚠ Campaign " + job.getName() + ": " + job.lostDiscounts.size()
+                    + " discount(s) could not be applied again; the members changed or were deleted since: "
+                    + describe(job.lostDiscounts));
+        }
+    }
+
+    /**
+     * Checks a member's fee against a journaled fee after discount, in cents
+     * as the data file stores them, so a saved and reloaded fee matches.
+     */
+    private static boolean hasFee(Member member, long cents) {
+        return MemberCsvWriter.fileCents(member.getBaseFee()) == cents;
+    }
+
+    /**
+     * Opens the letters file, cut back to the last checkpoint.
+     */
+    private static FileChannel openLetters(Path path, long checkpointBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > checkpointBytes) {
+            channel.truncate(checkpointBytes);
+        }
+        channel.position(checkpointBytes);
+        if (checkpointBytes == 0) {
+            write(channel, "Letter,MemberID,Name,Rating" + System.lineSeparator());
+        }
+        return channel;
+    }
+
+    private static void write(FileChannel channel, String text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Sleeps as long as needed to keep below the rate limit.
+     */
+    private void throttle(long start, int processed) {
+        long due = start + processed * 1_000_000_000L / membersPerSecond;
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package assignment;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Compares plain, gzip and deflate member files on a generated data set.
+ * Reports file size, save time and load time for each format.
+ *
+ * Usage: java assignment.CompressionBenchmark [memberCount] [directory]
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class CompressionBenchmark {
+    private static final String[] FIRST_NAMES = {
+        "John", "Emma", "Michael", "Sarah", "David", "Olivia", "James", "Sophia", "Liam", "Ava"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Brown", "Davis", "Wilson", "Taylor", "Anderson", "Thomas", "Moore", "Martin"
+    };
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("mms-bench");
+
+        List<Member> members = generateMembers(count);
+        System.out.printf("Generated %d members in %s\n\n", count, dir);
+        System.out.printf("%-22s %12s %8s %10s %10s\n", "File", "Size (MB)", "Ratio", "Save (ms)", "Load (ms)");
+
+        long plainSize = 0;
+        for (String name : new String[] { "members.csv", "members.csv.gz", "members.csv.deflate" }) {
+            Path path = dir.resolve(name);
+
+            long start = System.nanoTime();
+            write(members, path);
+            long saveMillis = (System.nanoTime() - start) / 1_000_000;
+            long size = Files.size(path);
+            if (plainSize == 0) {
+                plainSize = size;
+            }
+
+            // Best of two loads, so JIT warm-up does not penalize the first format
+            MemberManager manager = new MemberManager(path.toString());
+            long loadMillis = Long.MAX_VALUE;
+            for (int run = 0; run < 2; run++) {
+                start = System.nanoTime();
+                manager.loadFromFile();
+                loadMillis = Math.min(loadMillis, (System.nanoTime() - start) / 1_000_000);
+            }
+
+            if (manager.getMemberCount() != count) {
+                System.err.println("✗ Expected " + count + " members but loaded " + manager.getMemberCount());
+            }
+            System.out.printf("%-22s %12.2f %7.1f%% %10d %10d\n",
+                    name, size / 1_048_576.0, 100.0 * size / plainSize, saveMillis, loadMillis);
+        }
+    }
+
+    /**
+     * Writes members as saveToFile does, with record checksums and block
+     * markers, compressed by file extension.
+     */
+    private static void write(List<Member> members, Path path) throws IOException {
+        try (MemberCsvWriter writer = new MemberCsvWriter(MemberFileIO.newOutputStream(path))) {
+            writer.writeHeader();
+            writer.enableChecksums();
+            for (Member member : members) {
+                writer.write(member);
+            }
+        }
+    }
+
+    /**
+     * Builds a reproducible mix of regular and PT members.
+     */
+    static List<Member> generateMembers(int count) {
+        Random random = new Random(42);
+        List<Member> members = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            String id = String.format("G%07d", i);
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            int age = 16 + random.nextInt(85);
+            double baseFee = (3000 + random.nextInt(5000)) / 100.0;
+            int rating = random.nextInt(101);
+            boolean goal = random.nextBoolean();
+
+            if (i % 3 == 0) {
+                double trainerFee = (2000 + random.nextInt(4000)) / 100.0;
+                members.add(PTMember.fromCSVParts(id, name, age, baseFee, rating, goal, trainerFee));
+            } else {
+                members.add(RegularMember.fromCSV(id, name, age, baseFee, rating, goal));
+            }
+        }
+        return members;
+    }
+}
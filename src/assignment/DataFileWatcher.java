@@ -0,0 +1,95 @@
+package assignment;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the data file for changes made by other programs and applies them
+ * with MemberManager.syncFromFile. Runs on its own daemon thread, so the
+ * interactive menu is never blocked.
+ *
+ * Editors and scripts often write a file in several steps, so the watcher
+ * waits until the file has been quiet for a short time before syncing.
+ * Unsaved changes made in the program are kept (see syncFromFile).
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class DataFileWatcher implements Closeable {
+    private static final long QUIET_MILLIS = 500;
+
+    private final MemberManager manager;
+    private final Path file;
+    private final WatchService watcher;
+    private final Thread thread;
+
+    /**
+     * Starts watching a data file.
+     *
+     * @param manager Manager to apply changes to
+     * @param file    The manager's data file
+     * @throws IOException if the file's directory cannot be watched
+     */
+    public DataFileWatcher(MemberManager manager, Path file) throws IOException {
+        this.manager = manager;
+        this.file = file.toAbsolutePath();
+        this.watcher = FileSystems.getDefault().newWatchService();
+        // Directories are watched, not files; a replaced file is a CREATE event
+        this.file.getParent().register(watcher,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.thread = new Thread(this::run, "data-file-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                if (!concernsFile(watcher.take())) {
+                    continue;
+                }
+                // Wait until the file stops changing
+                WatchKey key;
+                while ((key = watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    concernsFile(key);
+                }
+
+                try {
+                    manager.syncFromFile();
+                } catch (Exception e) {
+                    System.err.println("✗ Error applying external changes: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher closed
+        }
+    }
+
+    /**
+     * Consumes the events of a key and re-arms it.
+     *
+     * @return true if any event was for the data file
+     */
+    private boolean concernsFile(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    /**
+     * Stops watching.
+     */
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+        thread.interrupt();
+    }
+}
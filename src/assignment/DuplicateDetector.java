@@ -0,0 +1,193 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * Finds members that are probably the same person registered under
+ * different IDs.
+ *
+ * Members are grouped into blocks by a hash key made of their age and the
+ * Soundex codes of their name words (in sorted order), so "Jon Smith",
+ * "John Smyth" and "Smith, John" of the same age land in one block. Only
+ * members within a block are compared: each is checked against the first
+ * member of every cluster found so far in the block and joins the first one
+ * whose normalized name is within MAX_NAME_DISTANCE edits. Every member
+ * that joins a cluster is reported as a candidate pair with the cluster's
+ * first member, so the work and the report stay close to linear in the
+ * number of members.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class DuplicateDetector {
+    // Largest edit distance between normalized names still reported
+    public static final int MAX_NAME_DISTANCE = 2;
+
+    /**
+     * A probable duplicate: a member that looks like an earlier member.
+     */
+    public static class Candidate {
+        private final Member original;
+        private final Member duplicate;
+        private final int nameDistance;
+
+        Candidate(Member original, Member duplicate, int nameDistance) {
+            this.original = original;
+            this.duplicate = duplicate;
+            this.nameDistance = nameDistance;
+        }
+
+        /**
+         * Returns the member that appeared first (in file or insertion order).
+         */
+        public Member getOriginal() {
+            return original;
+        }
+
+        public Member getDuplicate() {
+            return duplicate;
+        }
+
+        /**
+         * Returns the edit distance between the normalized names (0 when the
+         * names match apart from case, punctuation and word order).
+         */
+        public int getNameDistance() {
+            return nameDistance;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s) ~ %s (%s), age %d, %s",
+                    original.getId(), original.getName(), duplicate.getId(), duplicate.getName(),
+                    duplicate.getAge(), nameDistance == 0 ? "same name" : "name differs by " + nameDistance);
+        }
+    }
+
+    /**
+     * First member of a cluster within a block, with its normalized name.
+     */
+    private static class Cluster {
+        final Member first;
+        final String name;
+
+        Cluster(Member first, String name) {
+            this.first = first;
+            this.name = name;
+        }
+    }
+
+    private DuplicateDetector() {
+    }
+
+    /**
+     * Finds probable duplicates among members.
+     *
+     * @param members Members to check, in insertion order
+     * @return Candidate pairs, in the order the duplicates were found
+     */
+    public static List<Candidate> findDuplicates(Iterable<Member> members) {
+        Map<String, List<Cluster>> blocks = new HashMap<>();
+        List<Candidate> candidates = new ArrayList<>();
+        int[] previousRow = new int[64];
+        int[] currentRow = new int[64];
+
+        for (Member member : members) {
+            String name = normalizeName(member.getName());
+            List<Cluster> clusters = blocks.computeIfAbsent(blockingKey(name, member.getAge()),
+                    key -> new ArrayList<>(1));
+
+            if (name.length() + 1 > previousRow.length) {
+                previousRow = new int[name.length() + 1];
+                currentRow = new int[name.length() + 1];
+            }
+            Cluster match = null;
+            int distance = 0;
+            for (Cluster cluster : clusters) {
+                distance = cluster.name.equals(name) ? 0
+                        : MemberFuzzyIndex.distance(cluster.name, name, previousRow, currentRow);
+                if (distance <= MAX_NAME_DISTANCE) {
+                    match = cluster;
+                    break;
+                }
+            }
+
+            if (match == null) {
+                clusters.add(new Cluster(member, name));
+            } else {
+                candidates.add(new Candidate(match.first, member, distance));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Lower-cases a name, keeps only letters and digits, and sorts its words
+     * so that word order and punctuation do not matter.
+     *
+     * @param name The name as entered
+     * @return Normalized name, words separated by single spaces
+     */
+    static String normalizeName(String name) {
+        String[] words = name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim().split(" ");
+        Arrays.sort(words);
+        return String.join(" ", words);
+    }
+
+    /**
+     * Builds the block key: age plus the Soundex code of each word.
+     */
+    private static String blockingKey(String normalizedName, int age) {
+        StringBuilder key = new StringBuilder(24).append(age);
+        List<String> codes = new ArrayList<>(3);
+        for (String word : normalizedName.split(" ")) {
+            if (!word.isEmpty()) {
+                codes.add(soundex(word));
+            }
+        }
+        // Codes are sorted again: word order may differ in similar spellings
+        Collections.sort(codes);
+        for (String code : codes) {
+            key.append(' ').append(code);
+        }
+        return key.toString();
+    }
+
+    /**
+     * American Soundex: first letter plus three digits for the following
+     * consonant sounds, so that common misspellings share a code.
+     *
+     * @param word Lower-case word
+     * @return Four-character code, or the word itself if it has no letters a-z
+     */
+    static String soundex(String word) {
+        final String digits = "01230120022455012623010202"; // for a-z
+        char[] code = new char[4];
+        int length = 0;
+        char last = 0;
+
+        for (int i = 0; i < word.length() && length < 4; i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            char digit = digits.charAt(c - 'a');
+            if (length == 0) {
+                code[length++] = Character.toUpperCase(c);
+            } else if (digit != '0' && digit != last) {
+                code[length++] = digit;
+            }
+            // h and w do not separate equal codes; vowels do
+            if (c != 'h' && c != 'w') {
+                last = digit;
+            }
+        }
+        if (length == 0) {
+            return word;
+        }
+        while (length < 4) {
+            code[length++] = '0';
+        }
+        return new String(code);
+    }
+}
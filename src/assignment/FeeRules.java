@@ -0,0 +1,191 @@
+package assignment;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Fee discount rules, compiled into a lookup table.
+ *
+ * Rules are read from a text file, one rule per line ('#' starts a comment):
+ * <pre>
+ * REGULAR,goal,0.90        goal achieved: multiply by 0.90
+ * PT,rating,90,0.85        rating 90 or more: multiply by 0.85
+ * PT,rating,75,0.92        rating 75 or more (below the next tier): 0.92
+ * PT,goal,0.95
+ * </pre>
+ * For each member type at most one rating tier applies (the highest
+ * threshold not above the rating), followed by the goal rule.
+ *
+ * Compiling fills a table indexed by (type, rating, goal) with the rating
+ * and goal factors, so calculating a fee is a single lookup. The two
+ * factors are kept apart and applied one after the other, as the original
+ * hard-coded discounts were, so fees match them to the last bit.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class FeeRules {
+    private static final int TYPES = 2;
+    private static final int RATINGS = 101;
+
+    /**
+     * The standard discounts: 10% for regular members who achieved their
+     * goal; 15% (rating 90+) or 8% (rating 75+) for PT members, and a
+     * further 5% if they achieved their goal.
+     */
+    public static final FeeRules DEFAULT = parse(Arrays.asList(
+            "REGULAR,goal,0.90",
+            "PT,rating,90,0.85",
+            "PT,rating,75,0.92",
+            "PT,goal,0.95"), "default rules");
+
+    private static volatile FeeRules current = DEFAULT;
+
+    // Factors per table cell; cell = (type * RATINGS + rating) * 2 + goal
+    private final double[] ratingFactors = new double[TYPES * RATINGS * 2];
+    private final double[] goalFactors = new double[TYPES * RATINGS * 2];
+    private final int ruleCount;
+
+    private FeeRules(double[][] ratingTiers, double[] goalFactor, int ruleCount) {
+        this.ruleCount = ruleCount;
+        for (int type = 0; type < TYPES; type++) {
+            for (int rating = 0; rating < RATINGS; rating++) {
+                for (int goal = 0; goal < 2; goal++) {
+                    int cell = (type * RATINGS + rating) * 2 + goal;
+                    ratingFactors[cell] = ratingTiers[type][rating];
+                    goalFactors[cell] = goal == 1 ? goalFactor[type] : 1.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the rules used by calculateFee().
+     *
+     * @return Rules in effect
+     */
+    public static FeeRules current() {
+        return current;
+    }
+
+    /**
+     * Replaces the rules used by calculateFee(). Use
+     * MemberManager.installFeeRules so that statistics are rebuilt as well.
+     *
+     * @param rules New rules
+     */
+    static void install(FeeRules rules) {
+        current = rules;
+    }
+
+    /**
+     * Applies the discounts for a member's type, rating and goal status.
+     *
+     * @param type        MemberStats.REGULAR or MemberStats.PT
+     * @param grossFee    Fee before discounts
+     * @param rating      Performance rating (0-100)
+     * @param goalReached Whether the fitness goal was achieved
+     * @return Fee after discounts
+     */
+    public double apply(int type, double grossFee, int rating, boolean goalReached) {
+        int cell = (type * RATINGS + rating) * 2 + (goalReached ? 1 : 0);
+        return grossFee * ratingFactors[cell] * goalFactors[cell];
+    }
+
+    /**
+     * Returns the number of rules the table was compiled from.
+     *
+     * @return Rule count
+     */
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * Reads and compiles rules from a file.
+     *
+     * @param path Rules file
+     * @return Compiled rules
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a rule is invalid
+     */
+    public static FeeRules load(Path path) throws IOException {
+        return parse(Files.readAllLines(path), path.toString());
+    }
+
+    private static FeeRules parse(List<String> lines, String source) {
+        // Thresholds per type, highest first, with their factors
+        List<TreeMap<Integer, Double>> tiers = Arrays.asList(
+                new TreeMap<>(Comparator.reverseOrder()), new TreeMap<>(Comparator.reverseOrder()));
+        double[] goalFactor = { 1.0, 1.0 };
+        boolean[] goalSeen = new boolean[TYPES];
+        int ruleCount = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            String[] parts = line.split(",");
+            try {
+                int type = parseType(parts[0]);
+                String kind = parts.length > 1 ? parts[1].trim().toLowerCase(Locale.ROOT) : "";
+                if (kind.equals("rating") && parts.length == 4) {
+                    int threshold = Integer.parseInt(parts[2].trim());
+                    if (threshold < 0 || threshold > 100) {
+                        throw new IllegalArgumentException("Rating threshold must be between 0 and 100");
+                    }
+                    if (tiers.get(type).put(threshold, parseFactor(parts[3])) != null) {
+                        throw new IllegalArgumentException("Duplicate rating threshold " + threshold);
+                    }
+                } else if (kind.equals("goal") && parts.length == 3) {
+                    if (goalSeen[type]) {
+                        throw new IllegalArgumentException("Duplicate goal rule");
+                    }
+                    goalSeen[type] = true;
+                    goalFactor[type] = parseFactor(parts[2]);
+                } else {
+                    throw new IllegalArgumentException(
+                            "Expected TYPE,rating,threshold,factor or TYPE,goal,factor");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + " line " + (i + 1) + ": " + e.getMessage());
+            }
+            ruleCount++;
+        }
+
+        double[][] ratingTiers = new double[TYPES][RATINGS];
+        for (int type = 0; type < TYPES; type++) {
+            for (int rating = 0; rating < RATINGS; rating++) {
+                Map.Entry<Integer, Double> tier = tiers.get(type).ceilingEntry(rating);
+                ratingTiers[type][rating] = tier == null ? 1.0 : tier.getValue();
+            }
+        }
+        return new FeeRules(ratingTiers, goalFactor, ruleCount);
+    }
+
+    private static int parseType(String text) {
+        String type = text.trim();
+        if (type.equalsIgnoreCase("PT")) {
+            return MemberStats.PT;
+        }
+        if (type.equalsIgnoreCase("REGULAR")) {
+            return MemberStats.REGULAR;
+        }
+        throw new IllegalArgumentException("Unknown member type: " + type);
+    }
+
+    private static double parseFactor(String text) {
+        double factor = Double.parseDouble(text.trim());
+        if (!(factor >= 0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("Factor must be a non-negative number");
+        }
+        return factor;
+    }
+}
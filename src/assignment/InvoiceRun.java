@@ -0,0 +1,271 @@
+package assignment;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Monthly billing run: calculates every member's fee and writes one invoice
+ * line per member to a ledger file.
+ * <pre>
+ * InvoiceNo,Period,MemberID,Name,Type,GrossFee,Discount,AmountDue
+ * INV-202610-0000001,2026-10,M001,John Smith,REGULAR,50.00,5.00,45.00
+ * </pre>
+ * The snapshot's slots are cut into fixed-size chunks. Worker threads turn
+ * chunks into finished ledger bytes and per-type totals, while the calling
+ * thread writes the chunks in slot order. Invoice numbers are sequential in
+ * that order, so the ledger is identical whatever the number of threads.
+ * At most a few chunks per thread are in flight at a time, so memory use
+ * does not grow with the number of members.
+ *
+ * Amounts are whole cents, rounded as in MemberStats, so the ledger totals
+ * match the revenue in the statistics.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class InvoiceRun {
+    public static final String LEDGER_HEADER = "InvoiceNo,Period,MemberID,Name,Type,GrossFee,Discount,AmountDue";
+    private static final int CHUNK_SLOTS = 8192;
+
+    /**
+     * Totals of a billing run.
+     */
+    public static final class Summary {
+        private final YearMonth period;
+        private final long[] count = new long[2];
+        private final long[] grossCents = new long[2];
+        private final long[] discountCents = new long[2];
+        private long elapsedNanos;
+
+        Summary(YearMonth period) {
+            this.period = period;
+        }
+
+        void add(Summary chunk) {
+            for (int type = 0; type < 2; type++) {
+                count[type] += chunk.count[type];
+                grossCents[type] += chunk.grossCents[type];
+                discountCents[type] += chunk.discountCents[type];
+            }
+        }
+
+        public YearMonth getPeriod() {
+            return period;
+        }
+
+        /**
+         * @param type MemberStats.REGULAR or MemberStats.PT
+         */
+        public long getInvoiceCount(int type) {
+            return count[type];
+        }
+
+        public long getInvoiceCount() {
+            return count[MemberStats.REGULAR] + count[MemberStats.PT];
+        }
+
+        public double getGrossTotal(int type) {
+            return grossCents[type] / 100.0;
+        }
+
+        public double getDiscountTotal(int type) {
+            return discountCents[type] / 100.0;
+        }
+
+        public double getAmountDue(int type) {
+            return (grossCents[type] - discountCents[type]) / 100.0;
+        }
+
+        public double getAmountDue() {
+            return getAmountDue(MemberStats.REGULAR) + getAmountDue(MemberStats.PT);
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+
+        /**
+         * Returns the throughput of the run.
+         *
+         * @return Invoices written per second
+         */
+        public double getInvoicesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : getInvoiceCount() / getElapsedSeconds();
+        }
+    }
+
+    /**
+     * A formatted chunk of the ledger and its totals.
+     */
+    private static final class Chunk {
+        final byte[] bytes;
+        final Summary totals;
+
+        Chunk(byte[] bytes, Summary totals) {
+            this.bytes = bytes;
+            this.totals = totals;
+        }
+    }
+
+    private final MemberSnapshot snapshot;
+    private final YearMonth period;
+    private final int threads;
+
+    /**
+     * Constructor for InvoiceRun.
+     *
+     * @param snapshot Members to bill
+     * @param period   Billing month
+     * @param threads  Number of worker threads (at least 1)
+     */
+    public InvoiceRun(MemberSnapshot snapshot, YearMonth period, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.snapshot = snapshot;
+        this.period = period;
+        this.threads = threads;
+    }
+
+    /**
+     * Writes the ledger. Compression follows the file extension, as for data
+     * files (see MemberFileIO).
+     *
+     * @param path Ledger file
+     * @return Totals and throughput of the run
+     * @throws IOException if writing fails
+     */
+    public Summary writeTo(Path path) throws IOException {
+        long start = System.nanoTime();
+        Summary summary = new Summary(period);
+        String prefix = "INV-" + String.format("%04d%02d", period.getYear(), period.getMonthValue()) + "-";
+        String periodText = period.toString();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "invoice-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Chunks are written in submission order; the window bounds memory
+        Deque<Future<Chunk>> window = new ArrayDeque<>();
+        int maxInFlight = threads * 2;
+
+        try (OutputStream out = MemberFileIO.newOutputStream(path)) {
+            out.write((LEDGER_HEADER + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+
+            long nextInvoice = 1;
+            int slotCount = snapshot.getSlotCount();
+            for (int from = 0; from < slotCount; from += CHUNK_SLOTS) {
+                int to = Math.min(from + CHUNK_SLOTS, slotCount);
+                int first = from;
+                long firstInvoice = nextInvoice;
+                nextInvoice += liveSlots(from, to);
+                window.add(workers.submit(() -> format(first, to, firstInvoice, prefix, periodText)));
+
+                if (window.size() >= maxInFlight) {
+                    writeChunk(window.poll(), out, summary);
+                }
+            }
+            while (!window.isEmpty()) {
+                writeChunk(window.poll(), out, summary);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    private int liveSlots(int from, int to) {
+        int live = 0;
+        for (int slot = from; slot < to; slot++) {
+            if (snapshot.getSlot(slot) != null) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    private static void writeChunk(Future<Chunk> pending, OutputStream out, Summary summary) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Billing run interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Invoice calculation failed: " + e.getCause(), e.getCause());
+        }
+        out.write(chunk.bytes);
+        summary.add(chunk.totals);
+    }
+
+    /**
+     * Formats the invoices for a range of slots.
+     */
+    private Chunk format(int from, int to, long firstInvoice, String prefix, String periodText) {
+        Summary totals = new Summary(period);
+        StringBuilder text = new StringBuilder((to - from) * 96);
+        String lineSeparator = System.lineSeparator();
+        long invoice = firstInvoice;
+
+        for (int slot = from; slot < to; slot++) {
+            Member member = snapshot.getSlot(slot);
+            if (member == null) {
+                continue;
+            }
+            int type = MemberStats.typeOf(member);
+            double gross = member.getBaseFee();
+            if (member instanceof PTMember) {
+                gross += ((PTMember) member).getTrainerFee();
+            }
+            long grossCents = MemberStats.toCents(gross);
+            long dueCents = MemberStats.toCents(member.calculateFee());
+
+            totals.count[type]++;
+            totals.grossCents[type] += grossCents;
+            totals.discountCents[type] += grossCents - dueCents;
+
+            text.append(prefix);
+            appendPadded(text, invoice++);
+            text.append(',').append(periodText)
+                .append(',').append(sanitize(member.getId()))
+                .append(',').append(sanitize(member.getName()))
+                .append(',').append(type == MemberStats.PT ? "PT" : "REGULAR")
+                .append(',');
+            appendCents(text, grossCents);
+            text.append(',');
+            appendCents(text, grossCents - dueCents);
+            text.append(',');
+            appendCents(text, dueCents);
+            text.append(lineSeparator);
+        }
+        return new Chunk(text.toString().getBytes(StandardCharsets.UTF_8), totals);
+    }
+
+    private static String sanitize(String text) {
+        return text == null ? "" : text.replace(",", ";").trim();
+    }
+
+    private static void appendPadded(StringBuilder text, long number) {
+        String digits = Long.toString(number);
+        for (int i = digits.length(); i < 7; i++) {
+            text.append('0');
+        }
+        text.append(digits);
+    }
+
+    private static void appendCents(StringBuilder text, long cents) {
+        if (cents < 0) {
+            text.append('-');
+            cents = -cents;
+        }
+        long rest = cents % 100;
+        text.append(cents / 100).append('.').append((char) ('0' + rest / 10)).append((char) ('0' + rest % 10));
+    }
+}
@@ -1,5 +1,8 @@
 package assignment;
 
+import java.io.*;
+import java.nio.file.*;
+import java.time.YearMonth;
 import java.util.*;
 
 /**
@@ -14,8 +17,39 @@ public class MMSApp {
     private static MemberManager manager;
     private static Scanner scanner;
     private static final String FILE_PATH = "members.csv";
+    private static final String FEE_RULES_PATH = "fee_rules.csv";
+    // Set when this process replicates from a primary (--replica)
+    private static ReplicaClient replica;
+    private static final String CAMPAIGN_DIR = "campaigns";
+    // Background letter and discount campaigns of the interactive session
+    private static CampaignScheduler campaigns;
 
     public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            runBatch(args[1]);
+            return;
+        }
+        if (args.length >= 3 && args[0].equals("--convert")) {
+            convertFile(args[1], args[2]);
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--sites")) {
+            runSites(args[1]);
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--verify")) {
+            MemberManager.verifyFile(args[1]);
+            return;
+        }
+        if (args.length >= 4 && args[0].equals("--diff")) {
+            MemberManager.diffFiles(args[1], args[2], args[3]);
+            return;
+        }
+        if (args.length >= 4 && args[0].equals("--sort")) {
+            sortFile(args[1], args[2], args[3]);
+            return;
+        }
+
         System.out.println("╔════════════════════════════════════════════════════╗");
         System.out.println("║     GYM MEMBER MANAGEMENT SYSTEM (MMS)            ║");
         System.out.println("║              Version 1.0                           ║");
@@ -23,16 +57,50 @@ public class MMSApp {
 
         manager = new MemberManager(FILE_PATH);
         scanner = new Scanner(System.in);
+        List<String> options = Arrays.asList(args);
 
         // Initialize system
-        manager.ensureSampleData();
-        manager.loadFromFile();
+        loadFeeRules(manager);
+        manager.setCheckDuplicatesOnLoad(options.contains("--check-duplicates"));
+        if (options.contains("--replica")) {
+            // Members come from the primary; nothing is read from the local file
+            String primary = optionValue(options, "--replica");
+            int colon = primary.lastIndexOf(':');
+            replica = new ReplicaClient(manager, colon < 0 ? "localhost" : primary.substring(0, colon),
+                    Integer.parseInt(primary.substring(colon + 1)));
+        } else {
+            manager.ensureSampleData();
+            if (options.contains("--background-load")) {
+                // Serve the menu right away; lookups wait only for IDs not loaded yet
+                manager.loadInBackground();
+            } else {
+                manager.loadFromFile();
+            }
+        }
+        if (options.contains("--watch") && replica == null) {
+            watchDataFile();
+        }
+        if (options.contains("--primary")) {
+            startPrimary(Integer.parseInt(optionValue(options, "--primary")));
+        }
+        campaigns = new CampaignScheduler(manager, Path.of(CAMPAIGN_DIR),
+                CampaignScheduler.DEFAULT_BATCH_SIZE, CampaignScheduler.DEFAULT_MEMBERS_PER_SECOND);
+        if (replica == null) {
+            for (CampaignScheduler.Job job : campaigns.resumeUnfinished()) {
+                System.out.println("✓ Resuming campaign " + job.getName());
+            }
+            for (CampaignScheduler.Job job : campaigns.getJobs()) {
+                if (job.getState() == CampaignScheduler.State.STOPPED) {
+                    System.out.println("⚠ Campaign " + job.getName() + " is stopped; resume it from the letters menu");
+                }
+            }
+        }
 
         // Main application loop
         boolean running = true;
         while (running) {
             displayMainMenu();
-            String choice = getValidatedInput("Choose option (1-9): ");
+            String choice = getValidatedInput("Choose option (0-9): ");
 
             try {
                 running = handleMenuChoice(choice);
@@ -48,6 +116,193 @@ public class MMSApp {
         System.out.println("Goodbye!\n");
     }
 
+    /**
+     * Returns the argument following a command-line option.
+     */
+    private static String optionValue(List<String> options, String option) {
+        int index = options.indexOf(option);
+        if (index + 1 >= options.size()) {
+            throw new IllegalArgumentException(option + " requires a value");
+        }
+        return options.get(index + 1);
+    }
+
+    /**
+     * Applies changes that other programs make to the data file while the
+     * menu runs.
+     */
+    private static void watchDataFile() {
+        try {
+            new DataFileWatcher(manager, Path.of(FILE_PATH));
+            System.out.println("✓ Watching " + FILE_PATH + " for external changes");
+        } catch (IOException e) {
+            System.err.println("✗ Cannot watch " + FILE_PATH + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lets replicas connect and receive every change made in this process.
+     * 
+     * @param port Local port to listen on
+     */
+    private static void startPrimary(int port) {
+        try {
+            ReplicationPrimary primary = new ReplicationPrimary(manager, port);
+            System.out.println("✓ Accepting replicas on port " + primary.getPort());
+        } catch (IOException e) {
+            System.err.println("✗ Replication not started: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs commands from a script file (or standard input for "-") without
+     * prompts and prints a single summary.
+     * 
+     * @param source Script path, or "-" to read from standard input
+     */
+    private static void runBatch(String source) {
+        manager = new MemberManager(FILE_PATH);
+        manager.ensureSampleData();
+        loadFeeRules(manager);
+        manager.loadFromFile();
+
+        try (BufferedReader reader = source.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Path.of(source))) {
+            new BatchRunner(manager).run(reader);
+        } catch (IOException e) {
+            System.err.println("✗ Error reading batch commands: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the cross-site menu over several gyms, each with its own data file.
+     * 
+     * @param spec Sites as "name=file,name=file"
+     */
+    private static void runSites(String spec) {
+        String[] entries = spec.split(",");
+        MultiSiteManager sites = new MultiSiteManager(Math.min(entries.length,
+                Runtime.getRuntime().availableProcessors()));
+        try {
+            for (String entry : entries) {
+                int equals = entry.indexOf('=');
+                if (equals < 0) {
+                    throw new IllegalArgumentException("Site must be name=file: " + entry);
+                }
+                sites.addSite(entry.substring(0, equals), entry.substring(equals + 1).trim());
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ " + e.getMessage());
+            return;
+        }
+
+        // Fee rules apply to every manager; any site can load them
+        loadFeeRules(sites.getSite(sites.getSiteNames().get(0)));
+        scanner = new Scanner(System.in);
+        System.out.println("→ Loading " + entries.length + " sites...");
+        sites.loadAll();
+
+        boolean running = true;
+        while (running) {
+            System.out.println("\n═══ ALL SITES (" + sites.getMemberCount() + " members) ═══");
+            System.out.println("  Sites: " + String.join(", ", sites.getSiteNames()));
+            System.out.println("  1. Find Member by ID");
+            System.out.println("  2. Search by Name");
+            System.out.println("  3. Search by Performance Range");
+            System.out.println("  4. Issue Reminder Letters (Performance ≤ 50)");
+            System.out.println("  5. Issue Appreciation Letters (Performance ≥ 80)");
+            System.out.println("  6. Save All Sites");
+            System.out.println("  0. Exit System");
+
+            try {
+                switch (getValidatedInput("Select option: ")) {
+                    case "1":
+                        String id = getValidatedInput("\nEnter Member ID: ");
+                        String site = sites.findSite(id);
+                        if (site == null) {
+                            System.out.println("✗ No member found with ID: " + id);
+                        } else {
+                            Member member = sites.getSite(site).getById(id);
+                            System.out.println("\nSite: " + site);
+                            System.out.println(member);
+                            System.out.printf("Monthly Fee: $%.2f\n", member.calculateFee());
+                        }
+                        break;
+                    case "2":
+                        String query = getValidatedInput("\nEnter name to search: ");
+                        displaySearchResults(sites.searchByName(query), "name search: " + query);
+                        break;
+                    case "3":
+                        int minRating = getValidatedIntInput("\nEnter minimum performance (0-100): ", 0, 100);
+                        int maxRating = getValidatedIntInput("Enter maximum performance (0-100): ", minRating, 100);
+                        displaySearchResults(sites.searchByPerformance(minRating, maxRating),
+                                "performance range: " + minRating + "-" + maxRating);
+                        break;
+                    case "4":
+                        sites.issueReminderLetters(50);
+                        break;
+                    case "5":
+                        sites.issueAppreciationLetters(80);
+                        break;
+                    case "6":
+                        confirmSiteOverwrites(sites);
+                        sites.saveAll();
+                        break;
+                    case "0":
+                        running = confirmExit();
+                        break;
+                    default:
+                        System.out.println("Invalid option.");
+                }
+            } catch (Exception e) {
+                System.err.println("\n✗ Error: " + e.getMessage());
+            }
+        }
+        scanner.close();
+        System.out.println("\n👋 Thank you for using Member Management System!");
+    }
+
+    /**
+     * Converts a member file between CSV, JSON and NDJSON without loading it.
+     * 
+     * @param source Input file
+     * @param target Output file
+     */
+    private static void convertFile(String source, String target) {
+        try {
+            int converted = MemberManager.convertFile(source, target);
+            System.out.println("✓ Converted " + converted + " members from " + source + " to " + target);
+        } catch (IOException e) {
+            System.err.println("✗ Error converting file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sorts a member file into another with bounded memory, without loading
+     * it into a manager.
+     * 
+     * @param source Input file
+     * @param target Output file
+     * @param key    Sort key: id, name or fee
+     */
+    private static void sortFile(String source, String target, String key) {
+        try {
+            if (Files.exists(Path.of(FEE_RULES_PATH))) {
+                // Fees are computed with the configured rules
+                MemberManager.installFeeRules(FeeRules.load(Path.of(FEE_RULES_PATH)));
+            }
+            MemberSorter sorter = new MemberSorter(MemberSorter.Key.parse(key), MemberSorter.DEFAULT_RUN_SIZE);
+            int sorted = sorter.sort(source, target);
+            System.out.println("✓ Sorted " + sorted + " members by " + key + " from " + source + " to " + target
+                    + " (" + sorter.getRunsSpilled() + " runs spilled)");
+        } catch (IOException e) {
+            System.err.println("✗ Error sorting file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ " + e.getMessage());
+        }
+    }
+
     /**
      * Displays the main menu options.
      */
@@ -55,6 +310,17 @@ public class MMSApp {
         System.out.println("\n═══════════════════════════════════════════════════");
         System.out.println("           MEMBER MANAGEMENT SYSTEM");
         System.out.println("═══════════════════════════════════════════════════");
+        if (manager.isLoading()) {
+            System.out.printf("  ⏳ Loading in background: %d%% (%d members ready)\n",
+                    manager.getLoadProgress(), manager.getMemberCount());
+        }
+        if (replica != null) {
+            System.out.println("  🔁 " + replica.getStatus() + " (read-only)");
+        }
+        CampaignScheduler.Job campaign = campaigns.getRunningJob();
+        if (campaign != null) {
+            System.out.println("  📨 Campaign " + campaign.getStatus());
+        }
         System.out.println("  1. Load Records from File");
         System.out.println("  2. Add New Member");
         System.out.println("  3. Update Member Information");
@@ -63,7 +329,8 @@ public class MMSApp {
         System.out.println("  6. Save Records to File");
         System.out.println("  7. Issue Letters & Discounts");
         System.out.println("  8. View All Members");
-        System.out.println("  9. Exit System");
+        System.out.println("  9. View Membership Statistics");
+        System.out.println("  0. Exit System");
         System.out.println("═══════════════════════════════════════════════════");
     }
 
@@ -76,22 +343,32 @@ public class MMSApp {
     private static boolean handleMenuChoice(String choice) {
         switch (choice) {
             case "1":
-                loadRecords();
+                if (isWritable()) {
+                    loadRecords();
+                }
                 break;
             case "2":
-                addNewMember();
+                if (isWritable()) {
+                    addNewMember();
+                }
                 break;
             case "3":
-                updateMember();
+                if (isWritable()) {
+                    updateMember();
+                }
                 break;
             case "4":
-                deleteMember();
+                if (isWritable()) {
+                    deleteMember();
+                }
                 break;
             case "5":
                 queryMembers();
                 break;
             case "6":
-                saveRecords();
+                if (isWritable()) {
+                    saveRecords();
+                }
                 break;
             case "7":
                 lettersAndDiscountsMenu();
@@ -100,9 +377,25 @@ public class MMSApp {
                 manager.printAllMembers();
                 break;
             case "9":
+                manager.printStatistics();
+                break;
+            case "0":
                 return confirmExit();
             default:
-                System.out.println("\n✗ Invalid option. Please choose 1-9.");
+                System.out.println("\n✗ Invalid option. Please choose 0-9.");
+        }
+        return true;
+    }
+
+    /**
+     * Checks that changes are allowed here, and explains why not on a replica.
+     * 
+     * @return false if this process is a read-only replica
+     */
+    private static boolean isWritable() {
+        if (manager.isReadOnly()) {
+            System.out.println("\n✗ This is a read-only replica; make changes on the primary.");
+            return false;
         }
         return true;
     }
@@ -158,7 +451,7 @@ public class MMSApp {
 
             String saveNow = getValidatedInput("\nSave to file now? (y/n): ");
             if (saveNow.equalsIgnoreCase("y")) {
-                manager.saveToFile();
+                saveMembers();
             }
 
         } catch (IllegalArgumentException e) {
@@ -201,28 +494,29 @@ public class MMSApp {
             switch (choice) {
                 case "1":
                     String newName = getValidatedInput("Enter new name: ");
-                    member.setName(newName);
+                    manager.updateMember(id, m -> m.setName(newName));
                     break;
                 case "2":
                     int newAge = getValidatedIntInput("Enter new age (16-100): ", 16, 100);
-                    member.setAge(newAge);
+                    manager.updateMember(id, m -> m.setAge(newAge));
                     break;
                 case "3":
                     double newFee = getValidatedDoubleInput("Enter new base fee: ", 0, 10000);
-                    member.setBaseFee(newFee);
+                    manager.updateMember(id, m -> m.setBaseFee(newFee));
                     break;
                 case "4":
                     int newRating = getValidatedIntInput("Enter new performance (0-100): ", 0, 100);
-                    member.setPerformanceRating(newRating);
+                    manager.updateMember(id, m -> m.setPerformanceRating(newRating));
                     break;
                 case "5":
                     String achieved = getValidatedInput("Goal achieved? (y/n): ");
-                    member.setAchievedGoal(achieved.equalsIgnoreCase("y"));
+                    boolean goal = achieved.equalsIgnoreCase("y");
+                    manager.updateMember(id, m -> m.setAchievedGoal(goal));
                     break;
                 case "6":
                     if (member instanceof PTMember) {
                         double newTrainerFee = getValidatedDoubleInput("Enter new trainer fee: ", 0, 5000);
-                        ((PTMember) member).setTrainerFee(newTrainerFee);
+                        manager.updateMember(id, m -> ((PTMember) m).setTrainerFee(newTrainerFee));
                     }
                     break;
                 case "0":
@@ -237,7 +531,7 @@ public class MMSApp {
 
             String saveNow = getValidatedInput("Save changes to file? (y/n): ");
             if (saveNow.equalsIgnoreCase("y")) {
-                manager.saveToFile();
+                saveMembers();
             }
 
         } catch (Exception e) {
@@ -268,7 +562,7 @@ public class MMSApp {
             if (manager.deleteById(id)) {
                 String saveNow = getValidatedInput("Save changes to file? (y/n): ");
                 if (saveNow.equalsIgnoreCase("y")) {
-                    manager.saveToFile();
+                    saveMembers();
                 }
             }
         } else {
@@ -284,6 +578,11 @@ public class MMSApp {
         System.out.println("  1. Search by ID");
         System.out.println("  2. Search by Name");
         System.out.println("  3. Search by Performance Range");
+        System.out.println("  4. Find Declining Performance");
+        System.out.println("  5. Type-ahead Search (ID or name prefix)");
+        System.out.println("  6. Fuzzy Name Search (allows typos)");
+        System.out.println("  7. Find Probable Duplicates");
+        System.out.println("  8. Filter by Type, Goal and Rating");
         System.out.println("  0. Back to Main Menu");
 
         String choice = getValidatedInput("Select option: ");
@@ -298,6 +597,21 @@ public class MMSApp {
             case "3":
                 queryByPerformance();
                 break;
+            case "4":
+                queryDeclining();
+                break;
+            case "5":
+                queryByPrefix();
+                break;
+            case "6":
+                queryByNameFuzzy();
+                break;
+            case "7":
+                manager.printDuplicateReport();
+                break;
+            case "8":
+                queryByFilter();
+                break;
             case "0":
                 return;
             default:
@@ -330,6 +644,61 @@ public class MMSApp {
         displaySearchResults(results, "name search: " + query);
     }
 
+    /**
+     * Suggests members from the first letters of an ID or name.
+     */
+    private static void queryByPrefix() {
+        String prefix = getValidatedInput("\nEnter the first letters of an ID or name: ");
+        String order = getValidatedInput("Rank by (r)ating or (n)ewest? ");
+        MemberPrefixIndex.Rank rank = order.equalsIgnoreCase("n")
+                ? MemberPrefixIndex.Rank.RECENCY : MemberPrefixIndex.Rank.RATING;
+
+        List<Member> results = manager.searchByPrefix(prefix, 10, rank);
+
+        displaySearchResults(results, "prefix: " + prefix);
+    }
+
+    /**
+     * Queries members by name, tolerating spelling mistakes.
+     */
+    private static void queryByNameFuzzy() {
+        String query = getValidatedInput("\nEnter name (spelling may be approximate): ");
+        int maxDistance = getValidatedIntInput("Allowed typos (1-2): ", 1, 2);
+
+        List<Member> results = manager.searchByNameFuzzy(query, maxDistance, 20);
+
+        displaySearchResults(results, "fuzzy name search: " + query);
+    }
+
+    /**
+     * Filters members by type, goal status and rating range together.
+     */
+    private static void queryByFilter() {
+        String type = getValidatedInput("\nMember type - (p)T, (r)egular or (a)ny: ");
+        String goal = getValidatedInput("Goal achieved - (y)es, (n)o or (a)ny: ");
+        int minRating = getValidatedIntInput("Enter minimum performance (0-100): ", 0, 100);
+        int maxRating = getValidatedIntInput("Enter maximum performance (0-100): ", minRating, 100);
+
+        MemberFilter filter = MemberFilter.ratingBetween(minRating, maxRating);
+        if (type.equalsIgnoreCase("p")) {
+            filter = MemberFilter.ptMembers().and(filter);
+        } else if (type.equalsIgnoreCase("r")) {
+            filter = MemberFilter.regularMembers().and(filter);
+        }
+        if (goal.equalsIgnoreCase("y")) {
+            filter = filter.and(MemberFilter.achievedGoal());
+        } else if (goal.equalsIgnoreCase("n")) {
+            filter = filter.and(MemberFilter.achievedGoal().not());
+        }
+
+        int total = manager.count(filter);
+        List<Member> results = manager.filter(filter, 50);
+        displaySearchResults(results, filter.toString());
+        if (total > results.size()) {
+            System.out.println("... " + (total - results.size()) + " more (" + total + " in total)");
+        }
+    }
+
     /**
      * Queries members by performance range.
      */
@@ -342,6 +711,27 @@ public class MMSApp {
         displaySearchResults(results, "performance range: " + minRating + "-" + maxRating);
     }
 
+    /**
+     * Queries members whose rating dropped over their recent updates.
+     */
+    private static void queryDeclining() {
+        int minDrop = getValidatedIntInput("\nShow drops greater than (0-100 points): ", 0, 100);
+        int updates = getValidatedIntInput("Within the last N rating updates (1-" + (RatingHistory.CAPACITY - 1) + "): ",
+                1, RatingHistory.CAPACITY - 1);
+
+        List<Member> results = manager.findDecliningMembers(minDrop, updates);
+
+        displaySearchResults(results, "rating drop > " + minDrop + " in last " + updates + " updates");
+        for (Member member : results) {
+            RatingHistory history = member.getRatingHistory();
+            StringBuilder trend = new StringBuilder();
+            for (int i = 0; i < history.size(); i++) {
+                trend.append(i == 0 ? "" : " → ").append(history.getRating(i));
+            }
+            System.out.printf("   %s: %s (drop %d)\n", member.getId(), trend, history.getDrop(updates));
+        }
+    }
+
     /**
      * Displays search results.
      * 
@@ -369,9 +759,56 @@ public class MMSApp {
      */
     private static void saveRecords() {
         System.out.println("\n→ Saving records to file...");
+        saveMembers();
+    }
+
+    /**
+     * Asks, for each site whose file could not be fully loaded, whether
+     * saving may drop the records that are not in memory.
+     */
+    private static void confirmSiteOverwrites(MultiSiteManager sites) {
+        for (String name : sites.getSiteNames()) {
+            MemberManager site = sites.getSite(name);
+            if (site.getLoadProblems() > 0) {
+                String overwrite = getValidatedInput("⚠ " + site.getLoadProblems() + " record(s) or block(s) of site "
+                        + name + " could not be loaded. Overwrite its file without them? The old file is kept as .bak (y/n): ");
+                if (overwrite.equalsIgnoreCase("y")) {
+                    site.confirmOverwrite();
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the members, asking first if records of the file could not be
+     * loaded, since saving drops them from the file.
+     */
+    private static void saveMembers() {
+        if (manager.getLoadProblems() > 0) {
+            System.out.println("⚠ " + manager.getLoadProblems()
+                    + " record(s) or block(s) of the file could not be loaded and are not in memory.");
+            String overwrite = getValidatedInput("Overwrite the file without them? The old file is kept as .bak (y/n): ");
+            if (!overwrite.equalsIgnoreCase("y")) {
+                System.out.println("Save cancelled.");
+                return;
+            }
+            manager.confirmOverwrite();
+        }
         manager.saveToFile();
     }
 
+    /**
+     * Loads the fee rules file if there is one; otherwise the default
+     * discounts apply.
+     * 
+     * @param target Manager that loads the rules (they apply to all managers)
+     */
+    private static void loadFeeRules(MemberManager target) {
+        if (Files.exists(Path.of(FEE_RULES_PATH))) {
+            target.reloadFeeRules(FEE_RULES_PATH);
+        }
+    }
+
     /**
      * Displays letters and discounts menu.
      */
@@ -380,6 +817,10 @@ public class MMSApp {
         System.out.println("  1. Issue Reminder Letters (Performance ≤ 50)");
         System.out.println("  2. Issue Appreciation Letters (Performance ≥ 80)");
         System.out.println("  3. Award Discounts (Performance ≥ 90, 10% discount)");
+        System.out.println("  4. Reload Fee Rules (" + FEE_RULES_PATH + ")");
+        System.out.println("  5. Generate Monthly Invoices");
+        System.out.println("  6. Start Background Campaign");
+        System.out.println("  7. Campaign Progress (stop/resume)");
         System.out.println("  0. Back to Main Menu");
 
         String choice = getValidatedInput("Select option: ");
@@ -397,10 +838,22 @@ public class MMSApp {
                     manager.awardDiscounts(90, 10.0);
                     String save = getValidatedInput("Save changes to file? (y/n): ");
                     if (save.equalsIgnoreCase("y")) {
-                        manager.saveToFile();
+                        saveMembers();
                     }
                 }
                 break;
+            case "4":
+                manager.reloadFeeRules(FEE_RULES_PATH);
+                break;
+            case "5":
+                generateInvoices();
+                break;
+            case "6":
+                startCampaign();
+                break;
+            case "7":
+                manageCampaigns();
+                break;
             case "0":
                 return;
             default:
@@ -408,6 +861,75 @@ public class MMSApp {
         }
     }
 
+    /**
+     * Starts a letter or discount campaign that runs in the background.
+     */
+    private static void startCampaign() {
+        System.out.println("\n  1. Reminder Letters  2. Appreciation Letters  3. Discounts");
+        int kind = getValidatedIntInput("Campaign type (1-3): ", 1, 3);
+        if (kind == 3 && !isWritable()) {
+            return;
+        }
+        int threshold = getValidatedIntInput(kind == 1 ? "Maximum performance (0-100): "
+                : "Minimum performance (0-100): ", 0, 100);
+        double percent = kind == 3 ? getValidatedDoubleInput("Discount percentage (1-100): ", 1, 100) : 0;
+
+        try {
+            CampaignScheduler.Job job = campaigns.start(CampaignScheduler.Kind.values()[kind - 1], threshold, percent);
+            System.out.println("✓ Campaign " + job.getName() + " started in the background");
+            if (job.getLettersFile() != null) {
+                System.out.println("  Letters are written to " + job.getLettersFile());
+            }
+        } catch (IOException e) {
+            System.err.println("✗ Error starting campaign: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Shows the progress of every campaign and stops or resumes one.
+     */
+    private static void manageCampaigns() {
+        List<CampaignScheduler.Job> jobs = campaigns.getJobs();
+        if (jobs.isEmpty()) {
+            System.out.println("\n✗ No campaigns to show.");
+            return;
+        }
+        System.out.println("\n═══ CAMPAIGNS ═══");
+        for (int i = 0; i < jobs.size(); i++) {
+            System.out.printf("  %d. %s\n", i + 1, jobs.get(i).getStatus());
+        }
+
+        int choice = getValidatedIntInput("Campaign to stop or resume (0 = none): ", 0, jobs.size());
+        if (choice == 0) {
+            return;
+        }
+        CampaignScheduler.Job job = jobs.get(choice - 1);
+        switch (job.getState()) {
+            case QUEUED:
+            case RUNNING:
+                job.stop();
+                System.out.println("✓ Campaign " + job.getName() + " stops after its current batch");
+                break;
+            case STOPPED:
+            case FAILED:
+                campaigns.resume(job);
+                System.out.println("✓ Campaign " + job.getName() + " resumed");
+                break;
+            default:
+                System.out.println("Campaign " + job.getName() + " has finished.");
+        }
+    }
+
+    /**
+     * Generates this month's invoices into a ledger file.
+     */
+    private static void generateInvoices() {
+        YearMonth period = YearMonth.now();
+        String path = getValidatedInput("\nLedger file (e.g. invoices-" + period + ".csv): ");
+        System.out.println("\n→ Generating invoices for " + period + "...");
+        manager.generateInvoices(path, period);
+    }
+
     /**
      * Confirms exit from the application.
      * 
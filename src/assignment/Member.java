@@ -16,6 +16,9 @@ public abstract class Member {
     private double baseFee;
     private int performanceRating; // Range: 0-100
     private boolean achievedGoal;
+    // Recent rating changes; empty until the rating is changed after it was first set
+    private RatingHistory ratingHistory = new RatingHistory();
+    private boolean ratingInitialized;
 
     /**
      * Constructor to initialize a Member object.
@@ -48,6 +51,14 @@ public abstract class Member {
      */
     public abstract double calculateFee();
 
+    /**
+     * Creates an independent copy of this member with the same field values.
+     * Used to capture a member's state before and after a change.
+     * 
+     * @return A new member of the same type with identical data
+     */
+    public abstract Member copy();
+
     /**
      * Applies a percentage-based discount to the base fee.
      * 
@@ -111,6 +122,10 @@ public abstract class Member {
         return achievedGoal;
     }
 
+    public RatingHistory getRatingHistory() {
+        return ratingHistory;
+    }
+
     // Setters with validation
     public void setName(String name) {
         validateName(name);
@@ -131,7 +146,33 @@ public abstract class Member {
         if (rating < 0 || rating > 100) {
             throw new IllegalArgumentException("Performance rating must be between 0 and 100");
         }
+        // Setting the same rating again is not a change and adds no history entry
+        if (ratingInitialized && rating == performanceRating) {
+            return;
+        }
+        // The first assignment sets the starting rating; later ones are changes
+        if (ratingInitialized) {
+            if (ratingHistory.isEmpty()) {
+                ratingHistory.record(performanceRating, RatingHistory.UNKNOWN_TIME);
+            }
+            ratingHistory.record(rating, System.currentTimeMillis());
+        }
         this.performanceRating = rating;
+        this.ratingInitialized = true;
+    }
+
+    /**
+     * Replaces the rating history, e.g. when restoring a member from a file.
+     * If the history does not end with the current rating, the current rating
+     * is appended so the latest entry always matches.
+     * 
+     * @param history The history to restore (copied)
+     */
+    void setRatingHistory(RatingHistory history) {
+        this.ratingHistory = history.copy();
+        if (!ratingHistory.isEmpty() && ratingHistory.getLatestRating() != performanceRating) {
+            ratingHistory.record(performanceRating, System.currentTimeMillis());
+        }
     }
 
     public void setAchievedGoal(boolean achievedGoal) {
@@ -153,6 +194,15 @@ public abstract class Member {
                 Boolean.toString(achievedGoal));
     }
 
+    /**
+     * Returns the rating history column for CSV storage.
+     * 
+     * @return Encoded history, or an empty string if there is none
+     */
+    protected String ratingHistoryCSV() {
+        return ratingHistory.encode();
+    }
+
     /**
      * Sanitizes string data for CSV storage by removing commas.
      * 
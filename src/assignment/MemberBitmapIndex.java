@@ -0,0 +1,120 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * Bitmap indexes over member slots: one bitmap of occupied slots, one of PT
+ * members, one of members who achieved their goal and one per rating band
+ * of BAND_WIDTH points. MemberFilter combines them with AND, OR and AND NOT,
+ * so filters and counts never look at member objects.
+ *
+ * A rating range that does not start or end on a band boundary is refined
+ * with a per-slot rating array, and only within the two boundary bands.
+ *
+ * Not thread-safe; MemberManager keeps it up to date under its own lock and
+ * rebuilds it when the member vector is compacted (slots are renumbered).
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class MemberBitmapIndex {
+    static final int BAND_WIDTH = 5;
+    private static final int BANDS = 100 / BAND_WIDTH + 1;
+
+    private final SlotBitmap live = new SlotBitmap();
+    private final SlotBitmap pt = new SlotBitmap();
+    private final SlotBitmap goal = new SlotBitmap();
+    private final SlotBitmap[] bands = new SlotBitmap[BANDS];
+    // Rating of each occupied slot, for refining partial bands
+    private byte[] ratings = new byte[1024];
+
+    MemberBitmapIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            bands[band] = new SlotBitmap();
+        }
+    }
+
+    void add(int slot, Member member) {
+        if (slot >= ratings.length) {
+            ratings = Arrays.copyOf(ratings, Math.max(slot + 1, ratings.length * 2));
+        }
+        int rating = member.getPerformanceRating();
+        ratings[slot] = (byte) rating;
+        live.add(slot);
+        if (member instanceof PTMember) {
+            pt.add(slot);
+        }
+        if (member.isAchievedGoal()) {
+            goal.add(slot);
+        }
+        bands[rating / BAND_WIDTH].add(slot);
+    }
+
+    void remove(int slot, Member member) {
+        live.remove(slot);
+        pt.remove(slot);
+        goal.remove(slot);
+        bands[member.getPerformanceRating() / BAND_WIDTH].remove(slot);
+    }
+
+    void clear() {
+        live.clear();
+        pt.clear();
+        goal.clear();
+        for (SlotBitmap band : bands) {
+            band.clear();
+        }
+    }
+
+    /**
+     * Re-indexes every member, after the slots were renumbered.
+     */
+    void rebuild(MemberVector members) {
+        clear();
+        for (int slot = 0; slot < members.slotCount(); slot++) {
+            Member member = members.get(slot);
+            if (member != null) {
+                add(slot, member);
+            }
+        }
+    }
+
+    SlotBitmap all() {
+        return live;
+    }
+
+    SlotBitmap ptMembers() {
+        return pt;
+    }
+
+    SlotBitmap regularMembers() {
+        return live.andNot(pt);
+    }
+
+    SlotBitmap achievedGoal() {
+        return goal;
+    }
+
+    /**
+     * Returns the slots of members with a rating in a range.
+     *
+     * @param min Lowest rating (0-100)
+     * @param max Highest rating (min-100)
+     */
+    SlotBitmap ratingBetween(int min, int max) {
+        SlotBitmap result = new SlotBitmap();
+        int firstBand = min / BAND_WIDTH;
+        int lastBand = max / BAND_WIDTH;
+        for (int band = firstBand; band <= lastBand; band++) {
+            int bandMin = band * BAND_WIDTH;
+            int bandMax = Math.min(100, bandMin + BAND_WIDTH - 1);
+            if (bandMin >= min && bandMax <= max) {
+                result = result.or(bands[band]);
+            } else {
+                // Boundary band: keep only the slots whose rating is in range
+                result = result.or(bands[band].select(slot -> ratings[slot] >= min && ratings[slot] <= max));
+            }
+        }
+        return result;
+    }
+}
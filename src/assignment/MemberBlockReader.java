@@ -0,0 +1,211 @@
+package assignment;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Reads the members of a data file in batches, checking record and block
+ * checksums where the file has them (see RecordChecksums).
+ *
+ * A record whose checksum does not match, or that cannot be parsed, is
+ * rejected on its own; the other records of its block still load. Lines
+ * without a checksum, e.g. added in a text editor, are read as plain
+ * records. Block markers check the checksummed records only: a block that
+ * lost or gained such records, or a missing block, is reported as damaged,
+ * since members may have been lost. Rejected lines and the damaged blocks
+ * are noted in a quarantine file if one is set.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class MemberBlockReader {
+    private final BufferedReader in;
+    private final String source;
+    private final int batchSize;
+    private final int reportLimit;
+    private Path quarantine;
+    private boolean quarantineStarted;
+    private boolean checkBlocks = true;
+    private int lineNumber;
+    // The block being read: its checksummed records and first line
+    private final RecordChecksums.Block block = new RecordChecksums.Block();
+    private int blockFirstLine = -1;
+    private long expectedBlock;
+    private int rejected;
+    private int damagedBlocks;
+    private int reported;
+
+    /**
+     * Starts reading a data file after its header line.
+     *
+     * @param in          Reader positioned at the start of the file
+     * @param source      File name used in messages
+     * @param batchSize   Maximum members per batch
+     * @param reportLimit Maximum number of problems printed
+     * @throws IOException if the header cannot be read
+     */
+    MemberBlockReader(BufferedReader in, String source, int batchSize, int reportLimit) throws IOException {
+        this.in = in;
+        this.source = source;
+        this.batchSize = batchSize;
+        this.reportLimit = reportLimit;
+        if (in.readLine() != null) {
+            lineNumber = 1;
+        }
+    }
+
+    /**
+     * Copies rejected lines to a file and notes damaged blocks there.
+     *
+     * @param quarantine File the lines are appended to
+     */
+    void setQuarantine(Path quarantine) {
+        this.quarantine = quarantine;
+    }
+
+    /**
+     * Stops comparing blocks with their markers, for a file that may have
+     * been edited by hand; record checksums are still checked.
+     */
+    void ignoreBlockMarkers() {
+        checkBlocks = false;
+    }
+
+    /**
+     * Returns the next batch of valid members.
+     *
+     * @return The members, or null at the end of the file
+     * @throws IOException if reading fails
+     */
+    List<Member> nextBatch() throws IOException {
+        List<Member> members = new ArrayList<>();
+        String line;
+
+        while (members.size() < batchSize && (line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            if (RecordChecksums.isMarker(line)) {
+                endBlock(line);
+                continue;
+            }
+            if (!RecordChecksums.hasChecksum(line)) {
+                parse(line, line, members);
+                continue;
+            }
+
+            if (blockFirstLine < 0) {
+                blockFirstLine = lineNumber;
+            }
+            // The stored checksum counts for the block whether or not the record matches it
+            int stored = RecordChecksums.storedChecksum(line);
+            block.add(stored);
+            String record = line.substring(0, line.length() - RecordChecksums.SUFFIX_LENGTH);
+            if (RecordChecksums.checksum(record) != stored) {
+                reject(line, "record checksum mismatch");
+                continue;
+            }
+            parse(record, line, members);
+        }
+
+        if (members.isEmpty()) {
+            if (checkBlocks && block.getRecords() > 0) {
+                damaged("Block " + expectedBlock + " (lines " + blockFirstLine + "-" + lineNumber
+                        + "): no block marker (file truncated?)");
+                block.reset();
+            }
+            return null;
+        }
+        return members;
+    }
+
+    /**
+     * Compares the block that a marker closes with the marker.
+     */
+    private void endBlock(String marker) throws IOException {
+        if (!checkBlocks) {
+            block.reset();
+            blockFirstLine = -1;
+            return;
+        }
+        String problem = block.check(marker);
+        long index = RecordChecksums.markerIndex(marker);
+        int first = blockFirstLine > 0 ? blockFirstLine : lineNumber;
+        if (index > expectedBlock) {
+            damaged("Block " + expectedBlock + (index - 1 > expectedBlock ? "-" + (index - 1) : "")
+                    + " missing before line " + first);
+        }
+        if (problem != null) {
+            damaged("Block " + (index >= 0 ? index : expectedBlock) + " (lines " + first + "-" + lineNumber + "): "
+                    + problem);
+        }
+        expectedBlock = Math.max(expectedBlock, index) + 1;
+        block.reset();
+        blockFirstLine = -1;
+    }
+
+    private void parse(String record, String line, List<Member> members) throws IOException {
+        try {
+            members.add(MemberManager.parseMemberFromCSV(record));
+        } catch (IllegalArgumentException e) {
+            reject(line, e.getMessage());
+        }
+    }
+
+    /**
+     * Reports a record that is not loaded and quarantines its line.
+     */
+    private void reject(String line, String reason) throws IOException {
+        rejected++;
+        String where = "Line " + lineNumber + ": " + reason;
+        report("⚠ Skipped " + where);
+        quarantine("# " + where, line);
+    }
+
+    /**
+     * Reports a block whose records do not match its marker, or that is missing.
+     */
+    private void damaged(String where) throws IOException {
+        damagedBlocks++;
+        report("⚠ " + where);
+        quarantine("# " + where);
+    }
+
+    private void quarantine(String... lines) throws IOException {
+        if (quarantine == null) {
+            return;
+        }
+        List<String> text = new ArrayList<>(lines.length + 1);
+        if (!quarantineStarted) {
+            text.add("# Loading " + source + " at " + LocalDateTime.now().withNano(0));
+            quarantineStarted = true;
+        }
+        text.addAll(Arrays.asList(lines));
+        Files.write(quarantine, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void report(String message) {
+        if (reported++ < reportLimit) {
+            System.err.println(message);
+        }
+    }
+
+    /**
+     * Returns the number of records not loaded: unparseable or with a
+     * checksum that does not match.
+     */
+    int getRejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * Returns the number of blocks that are missing or do not match their marker.
+     */
+    int getDamagedBlockCount() {
+        return damagedBlocks;
+    }
+}
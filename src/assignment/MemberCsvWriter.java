@@ -0,0 +1,341 @@
+package assignment;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Writes members in the CSV file format straight into a reused byte buffer.
+ * Output is byte-for-byte the same as writing toCSVLine() through a UTF-8
+ * BufferedWriter, but no Strings or formatters are created per row: numbers
+ * are formatted digit by digit and text is encoded to UTF-8 in place.
+ *
+ * Amounts use the same rounding as String.format("%.2f"). The rare values
+ * that lie within rounding error of half a cent, and all values when the
+ * default locale does not format numbers with '.' and ASCII digits, are
+ * passed to String.format so the result is always identical.
+ *
+ * With enableChecksums(), each row ends with its CRC-32 and every block of
+ * rows is followed by a marker line (see RecordChecksums). The checksum is
+ * computed over the row's bytes as they leave the buffer.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MemberCsvWriter implements Closeable {
+    private static final byte[] REGULAR_PREFIX = { 'R', 'E', 'G', 'U', 'L', 'A', 'R', ',' };
+    private static final byte[] PT_PREFIX = { 'P', 'T', ',' };
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    // Above this amount, amount * 100 is too imprecise for the fast path
+    private static final double FAST_AMOUNT_LIMIT = 1e7;
+    // Room for every field of a row except the variable-length text
+    private static final int ROW_RESERVE = 512;
+    private static final byte[] HEX_DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7',
+        '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[MemberFileIO.BUFFER_SIZE];
+    private final byte[] lineSeparator = System.lineSeparator().getBytes();
+    private final boolean fastAmounts;
+    private int position;
+    private int written;
+    // Checksum state; block is null unless checksums are enabled
+    private RecordChecksums.Block block;
+    private final CRC32 rowChecksum = new CRC32();
+    private long blockIndex;
+    // Buffer position where the current row starts, or -1 between rows
+    private int rowStart = -1;
+
+    /**
+     * Constructor for MemberCsvWriter.
+     *
+     * @param out Destination; closed by close()
+     */
+    public MemberCsvWriter(OutputStream out) {
+        this.out = out;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        this.fastAmounts = symbols.getDecimalSeparator() == '.' && symbols.getZeroDigit() == '0';
+    }
+
+    /**
+     * Adds record checksums and block markers to the rows written from now on.
+     */
+    void enableChecksums() {
+        block = new RecordChecksums.Block();
+    }
+
+    /**
+     * Writes the CSV header line.
+     *
+     * @throws IOException if writing fails
+     */
+    public void writeHeader() throws IOException {
+        writeText(MemberManager.CSV_HEADER, false);
+        writeBytes(lineSeparator);
+    }
+
+    /**
+     * Writes one member as a CSV row, in the format of toCSVLine().
+     *
+     * @param member The member to write
+     * @throws IOException if writing fails
+     */
+    public void write(Member member) throws IOException {
+        boolean pt = member instanceof PTMember;
+        if (block != null) {
+            rowStart = position;
+        }
+        writeBytes(pt ? PT_PREFIX : REGULAR_PREFIX);
+        writeText(member.getId(), true);
+        writeByte(',');
+        writeText(member.getName(), true);
+        ensureRoom(ROW_RESERVE);
+        buffer[position++] = ',';
+        writeLong(member.getAge());
+        buffer[position++] = ',';
+        writeAmount(member.getBaseFee());
+        buffer[position++] = ',';
+        writeLong(member.getPerformanceRating());
+        buffer[position++] = ',';
+        writeBytes(member.isAchievedGoal() ? TRUE : FALSE);
+
+        RatingHistory history = member.getRatingHistory();
+        if (pt) {
+            writeByte(',');
+            writeAmount(((PTMember) member).getTrainerFee());
+        }
+        if (!history.isEmpty()) {
+            // Regular members leave the trainer fee column empty
+            writeByte(',');
+            if (!pt) {
+                writeByte(',');
+            }
+            for (int i = 0; i < history.size(); i++) {
+                ensureRoom(48);
+                if (i > 0) {
+                    buffer[position++] = ';';
+                }
+                writeLong(history.getRating(i));
+                buffer[position++] = '@';
+                writeLong(history.getTimestamp(i));
+            }
+        }
+        if (block != null) {
+            writeChecksum();
+        }
+        writeBytes(lineSeparator);
+        written++;
+        if (block != null && block.getRecords() == RecordChecksums.BLOCK_SIZE) {
+            writeMarker();
+        }
+    }
+
+    /**
+     * Ends the current row with '*' and its checksum in hex.
+     */
+    private void writeChecksum() throws IOException {
+        rowChecksum.update(buffer, rowStart, position - rowStart);
+        rowStart = -1;
+        int checksum = (int) rowChecksum.getValue();
+        rowChecksum.reset();
+        block.add(checksum);
+
+        ensureRoom(RecordChecksums.SUFFIX_LENGTH);
+        buffer[position++] = '*';
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            buffer[position++] = HEX_DIGITS[(checksum >>> shift) & 0xF];
+        }
+    }
+
+    private void writeMarker() throws IOException {
+        writeText(block.marker(blockIndex++), false);
+        writeBytes(lineSeparator);
+        block.reset();
+    }
+
+    /**
+     * Returns the number of members written so far.
+     *
+     * @return Member count
+     */
+    public int getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * Writes text as UTF-8. For member fields, applies the CSV sanitizing
+     * rules: commas become semicolons and surrounding whitespace is dropped.
+     */
+    private void writeText(String s, boolean sanitize) throws IOException {
+        if (s == null) {
+            return;
+        }
+        int start = 0;
+        int end = s.length();
+        if (sanitize) {
+            // Same as replace(",", ";").trim(): commas are not whitespace
+            while (start < end && s.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && s.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+
+        for (int i = start; i < end; i++) {
+            if (buffer.length - position < 4) {
+                flushBuffer();
+            }
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) (sanitize && c == ',' ? ';' : c);
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (cp >> 18));
+                buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: the UTF-8 encoder substitutes '?'
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Writes an amount with two decimals, as String.format("%.2f") would.
+     */
+    private void writeAmount(double amount) throws IOException {
+        ensureRoom(64);
+        long cents = fastAmounts ? fastCents(amount) : -1;
+        if (cents >= 0) {
+            writeLong(cents / 100);
+            long rest = cents % 100;
+            buffer[position++] = '.';
+            buffer[position++] = (byte) ('0' + rest / 10);
+            buffer[position++] = (byte) ('0' + rest % 10);
+            return;
+        }
+        writeText(String.format("%.2f", amount), false);
+    }
+
+    /**
+     * Returns an amount in cents as the data file stores it. This can differ
+     * from MemberStats.toCents for values within rounding error of half a cent.
+     *
+     * @param amount The amount
+     * @return The amount in cents, rounded as String.format("%.2f") rounds
+     */
+    static long fileCents(double amount) {
+        long cents = fastCents(amount);
+        if (cents >= 0) {
+            return cents;
+        }
+        return new BigDecimal(String.format(Locale.ROOT, "%.2f", amount)).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Rounds an amount to cents without formatting it.
+     *
+     * @return The cents, or -1 if the amount needs String.format
+     */
+    private static long fastCents(double amount) {
+        // Raw bits exclude -0.0 (formatted "-0.00") as well as negatives
+        if (Double.doubleToRawLongBits(amount) < 0 || amount >= FAST_AMOUNT_LIMIT) {
+            return -1;
+        }
+        double scaled = amount * 100;
+        long cents = (long) scaled;
+        double fraction = scaled - cents;
+        // Half-cent ties depend on the decimal form of the value
+        if (Math.abs(fraction - 0.5) <= 1e-6) {
+            return -1;
+        }
+        return fraction > 0.5 ? cents + 1 : cents;
+    }
+
+    /**
+     * Writes a non-negative or negative integer in decimal; the caller
+     * ensures 20 bytes of room.
+     */
+    private void writeLong(long value) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                for (char c : Long.toString(value).toCharArray()) {
+                    buffer[position++] = (byte) c;
+                }
+                return;
+            }
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private void writeByte(char b) throws IOException {
+        ensureRoom(1);
+        buffer[position++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        ensureRoom(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (rowStart >= 0) {
+            // The row continues at the start of the emptied buffer
+            rowChecksum.update(buffer, rowStart, position - rowStart);
+            rowStart = 0;
+        }
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    /**
+     * Writes buffered rows and closes the underlying stream.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (block != null && block.getRecords() > 0) {
+                writeMarker();
+            }
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * Column layout of a delta file: a CSV file of member changes whose header
+ * line names the columns it contains, in any order. ID is required; the
+ * other columns are the data file's (Type, Name, Age, BaseFee,
+ * PerformanceRating, AchievedGoal, TrainerFee), and "Rating" and "Goal" are
+ * accepted as short names.
+ * <pre>
+ * ID,PerformanceRating,BaseFee
+ * M001,82,
+ * M002,,39.50
+ * </pre>
+ * For an existing member, every non-empty cell replaces that field and empty
+ * cells keep the current value. A row for an unknown ID adds a member and
+ * must give its name, age and base fee (and trainer fee for PT); the type
+ * defaults to REGULAR.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class MemberDelta {
+    private static final String[] COLUMNS = {
+        "type", "id", "name", "age", "basefee", "performancerating", "achievedgoal", "trainerfee"
+    };
+    private static final int TYPE = 0;
+    private static final int ID = 1;
+    private static final int NAME = 2;
+    private static final int AGE = 3;
+    private static final int BASE_FEE = 4;
+    private static final int RATING = 5;
+    private static final int GOAL = 6;
+    private static final int TRAINER_FEE = 7;
+
+    // Position of each known column in a row, or -1 if the file lacks it
+    private final int[] positions = new int[COLUMNS.length];
+    private final int width;
+
+    private MemberDelta(String header) {
+        Arrays.fill(positions, -1);
+        String[] names = header.split(",", -1);
+        width = names.length;
+        for (int i = 0; i < names.length; i++) {
+            int column = columnOf(names[i]);
+            if (positions[column] >= 0) {
+                throw new IllegalArgumentException("Column " + names[i].trim() + " appears twice");
+            }
+            positions[column] = i;
+        }
+        if (positions[ID] < 0) {
+            throw new IllegalArgumentException("Delta header must have an ID column");
+        }
+    }
+
+    /**
+     * Reads the column layout from a header line.
+     *
+     * @param header First line of the delta file
+     * @return The layout
+     * @throws IllegalArgumentException if a column is unknown or repeated, or ID is missing
+     */
+    static MemberDelta fromHeader(String header) {
+        return new MemberDelta(header);
+    }
+
+    private static int columnOf(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+        if (key.equals("rating")) {
+            return RATING;
+        }
+        if (key.equals("goal")) {
+            return GOAL;
+        }
+        for (int column = 0; column < COLUMNS.length; column++) {
+            if (COLUMNS[column].equals(key)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column: " + name.trim());
+    }
+
+    /**
+     * Splits a row into cells.
+     *
+     * @throws IllegalArgumentException if the row has the wrong number of cells
+     */
+    String[] split(String line) {
+        String[] cells = line.split(",", -1);
+        if (cells.length != width) {
+            throw new IllegalArgumentException("Expected " + width + " fields, found " + cells.length);
+        }
+        return cells;
+    }
+
+    String id(String[] cells) {
+        String id = cells[positions[ID]].trim();
+        if (id.isEmpty()) {
+            throw new IllegalArgumentException("Missing ID");
+        }
+        return id;
+    }
+
+    /**
+     * Applies a row's non-empty cells to a copy of an existing member.
+     *
+     * @throws IllegalArgumentException if a value is invalid or the type differs
+     */
+    void update(String[] cells, Member member) {
+        String type = cell(cells, TYPE);
+        if (type != null && !type.equalsIgnoreCase(member instanceof PTMember ? "PT" : "REGULAR")) {
+            throw new IllegalArgumentException("Member type cannot be changed by a delta file");
+        }
+        String name = cell(cells, NAME);
+        if (name != null) {
+            member.setName(name);
+        }
+        String age = cell(cells, AGE);
+        if (age != null) {
+            member.setAge(Integer.parseInt(age));
+        }
+        String baseFee = cell(cells, BASE_FEE);
+        if (baseFee != null) {
+            member.setBaseFee(Double.parseDouble(baseFee));
+        }
+        String rating = cell(cells, RATING);
+        if (rating != null) {
+            member.setPerformanceRating(Integer.parseInt(rating));
+        }
+        String goal = cell(cells, GOAL);
+        if (goal != null) {
+            member.setAchievedGoal(parseBoolean(goal));
+        }
+        String trainerFee = cell(cells, TRAINER_FEE);
+        if (trainerFee != null) {
+            if (!(member instanceof PTMember)) {
+                throw new IllegalArgumentException("Only PT members have a trainer fee");
+            }
+            ((PTMember) member).setTrainerFee(Double.parseDouble(trainerFee));
+        }
+    }
+
+    /**
+     * Creates a new member from a row.
+     *
+     * @throws IllegalArgumentException if a required value is missing or invalid
+     */
+    Member create(String[] cells) {
+        String type = cell(cells, TYPE);
+        String name = required(cells, NAME, "name");
+        int age = Integer.parseInt(required(cells, AGE, "age"));
+        double baseFee = Double.parseDouble(required(cells, BASE_FEE, "base fee"));
+        String rating = cell(cells, RATING);
+        int performanceRating = rating == null ? 0 : Integer.parseInt(rating);
+        String goal = cell(cells, GOAL);
+        boolean achievedGoal = goal != null && parseBoolean(goal);
+
+        if (type != null && type.equalsIgnoreCase("PT")) {
+            double trainerFee = Double.parseDouble(required(cells, TRAINER_FEE, "trainer fee"));
+            return PTMember.fromCSVParts(id(cells), name, age, baseFee, performanceRating, achievedGoal, trainerFee);
+        }
+        if (type != null && !type.equalsIgnoreCase("REGULAR")) {
+            throw new IllegalArgumentException("Unknown member type: " + type);
+        }
+        if (cell(cells, TRAINER_FEE) != null) {
+            throw new IllegalArgumentException("Only PT members have a trainer fee");
+        }
+        return RegularMember.fromCSV(id(cells), name, age, baseFee, performanceRating, achievedGoal);
+    }
+
+    /**
+     * Returns a trimmed cell, or null if the column is absent or the cell empty.
+     */
+    private String cell(String[] cells, int column) {
+        if (positions[column] < 0) {
+            return null;
+        }
+        String value = cells[positions[column]].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String required(String[] cells, int column, String field) {
+        String value = cell(cells, column);
+        if (value == null) {
+            throw new IllegalArgumentException("New member needs a " + field);
+        }
+        return value;
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Goal must be true or false: " + value);
+    }
+}
@@ -0,0 +1,128 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * Describes a single change made through MemberManager.
+ * Events carry the member versions before and after the change. Stored
+ * members are never modified (changes replace them with updated copies), so
+ * subscribers can read these versions safely from any thread.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MemberEvent {
+
+    /**
+     * Kinds of mutation published by MemberManager.
+     */
+    public enum Type {
+        ADD, UPDATE, DELETE, BULK_LOAD
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final Member before;
+    private final Member after;
+    private final int count;
+    private final long timestamp;
+
+    /**
+     * Constructor for a member event.
+     *
+     * @param sequence Position of the event in the feed
+     * @param type     Kind of mutation
+     * @param before   Member state before the change (null for ADD)
+     * @param after    Member state after the change (null for DELETE)
+     * @param count    Number of members affected (records loaded for BULK_LOAD)
+     */
+    MemberEvent(long sequence, Type type, Member before, Member after, int count) {
+        this.sequence = sequence;
+        this.type = type;
+        this.before = before;
+        this.after = after;
+        this.count = count;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Member getBefore() {
+        return before;
+    }
+
+    public Member getAfter() {
+        return after;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the ID of the affected member.
+     *
+     * @return Member ID, or null for BULK_LOAD events
+     */
+    public String getMemberId() {
+        if (after != null) {
+            return after.getId();
+        }
+        return before != null ? before.getId() : null;
+    }
+
+    /**
+     * Lists the fields whose values differ between the before and after states.
+     *
+     * @return Names of changed fields (empty unless this is an UPDATE)
+     */
+    public List<String> getChangedFields() {
+        List<String> changed = new ArrayList<>();
+        if (before == null || after == null) {
+            return changed;
+        }
+
+        if (!before.getName().equals(after.getName())) {
+            changed.add("name");
+        }
+        if (before.getAge() != after.getAge()) {
+            changed.add("age");
+        }
+        if (Double.compare(before.getBaseFee(), after.getBaseFee()) != 0) {
+            changed.add("baseFee");
+        }
+        if (before.getPerformanceRating() != after.getPerformanceRating()) {
+            changed.add("performanceRating");
+        }
+        if (before.isAchievedGoal() != after.isAchievedGoal()) {
+            changed.add("achievedGoal");
+        }
+        if (before instanceof PTMember && after instanceof PTMember
+                && Double.compare(((PTMember) before).getTrainerFee(), ((PTMember) after).getTrainerFee()) != 0) {
+            changed.add("trainerFee");
+        }
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case BULK_LOAD:
+                return String.format("#%d BULK_LOAD (%d members)", sequence, count);
+            case UPDATE:
+                return String.format("#%d UPDATE %s %s", sequence, getMemberId(), getChangedFields());
+            default:
+                return String.format("#%d %s %s", sequence, type, getMemberId());
+        }
+    }
+}
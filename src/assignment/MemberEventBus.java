@@ -0,0 +1,183 @@
+package assignment;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free ring buffer that delivers MemberEvents to subscribers.
+ * Writers claim a sequence number with a single atomic increment and store the
+ * event in its slot; they never wait for or wake subscribers. Each subscriber
+ * polls the ring on its own daemon thread, backing off from spinning to short
+ * sleeps while idle. A subscriber that falls more than one ring length
+ * behind is told it was overrun and skips ahead.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MemberEventBus {
+    private static final int IDLE_SPINS = 100;
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AtomicReferenceArray<MemberEvent> ring;
+    private final int mask;
+    // Next sequence number to hand out; sequences start at 1
+    private final AtomicLong nextSequence = new AtomicLong(1);
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor for the event bus.
+     *
+     * @param capacity Number of slots in the ring (rounded up to a power of two)
+     */
+    public MemberEventBus(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Event ring capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publishes an event to all subscribers.
+     *
+     * @param type   Kind of mutation
+     * @param before Member state before the change (null for ADD)
+     * @param after  Member state after the change (null for DELETE)
+     * @param count  Number of members affected
+     * @return The sequence number assigned to the event
+     */
+    long publish(MemberEvent.Type type, Member before, Member after, int count) {
+        long sequence = nextSequence.getAndIncrement();
+        ring.set(slot(sequence), new MemberEvent(sequence, type, before, after, count));
+        return sequence;
+    }
+
+    /**
+     * Registers a listener that receives every event published from now on.
+     *
+     * @param listener The listener to call
+     * @return Handle used to stop the subscription
+     */
+    public Subscription subscribe(MemberEventListener listener) {
+        return subscribe(listener, nextSequence.get());
+    }
+
+    /**
+     * Registers a listener starting at a given sequence. Events that are no
+     * longer in the ring are reported through onOverrun.
+     *
+     * @param listener      The listener to call
+     * @param firstSequence Sequence of the first event to deliver
+     * @return Handle used to stop the subscription
+     */
+    public Subscription subscribe(MemberEventListener listener, long firstSequence) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        Subscription subscription = new Subscription(listener, Math.max(1, firstSequence));
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Returns the sequence of the most recently claimed event.
+     *
+     * @return Last sequence number, or 0 if nothing was published yet
+     */
+    public long getLastSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /**
+     * A single subscriber with its own read cursor and delivery thread.
+     */
+    public class Subscription implements AutoCloseable {
+        private final MemberEventListener listener;
+        private final Thread thread;
+        private volatile long cursor;
+        private volatile boolean running = true;
+
+        private Subscription(MemberEventListener listener, long firstSequence) {
+            this.listener = listener;
+            this.cursor = firstSequence;
+            this.thread = new Thread(this::deliver, "member-events-" + subscriptions.size());
+            this.thread.setDaemon(true);
+        }
+
+        private void deliver() {
+            int idle = 0;
+            while (running) {
+                long next = cursor;
+                MemberEvent event = ring.get(slot(next));
+
+                if (event != null && event.getSequence() == next) {
+                    try {
+                        listener.onEvent(event);
+                    } catch (Exception e) {
+                        System.err.println("⚠ Event listener failed on " + event + ": " + e.getMessage());
+                    }
+                    cursor = next + 1;
+                    idle = 0;
+                } else if (event != null && event.getSequence() > next) {
+                    // The writer lapped us; resume at the oldest event still in the ring
+                    long resumeAt = Math.max(next + 1, getLastSequence() - mask);
+                    cursor = resumeAt;
+                    listener.onOverrun(next, resumeAt);
+                } else {
+                    idleWait(idle++);
+                }
+            }
+        }
+
+        /**
+         * Waits for new events: spin briefly, then yield, then sleep for
+         * progressively longer up to a small bound.
+         */
+        private void idleWait(int idle) {
+            if (idle < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else if (idle < 2 * IDLE_SPINS) {
+                Thread.yield();
+            } else {
+                long nanos = Math.min(MAX_IDLE_PARK_NANOS, 10_000L << Math.min(idle - 2 * IDLE_SPINS, 10));
+                LockSupport.parkNanos(this, nanos);
+            }
+        }
+
+        /**
+         * Returns how many published events this subscriber has not read yet.
+         *
+         * @return Number of pending events
+         */
+        public long getLag() {
+            return Math.max(0, getLastSequence() - cursor + 1);
+        }
+
+        /**
+         * Returns the sequence of the next event this subscriber will receive.
+         *
+         * @return Next sequence number
+         */
+        public long getCursor() {
+            return cursor;
+        }
+
+        /**
+         * Stops delivery and removes the subscription from the bus.
+         */
+        @Override
+        public void close() {
+            running = false;
+            subscriptions.remove(this);
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package assignment;
+
+/**
+ * Receives change events published by MemberManager.
+ * Each subscriber is called from its own delivery thread, in sequence order.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public interface MemberEventListener {
+
+    /**
+     * Called for every event in sequence order.
+     *
+     * @param event The published event
+     */
+    void onEvent(MemberEvent event);
+
+    /**
+     * Called when the subscriber fell so far behind that the ring buffer
+     * overwrote events it had not read yet. Delivery resumes at the live edge,
+     * so listeners that keep derived state should rebuild it from the manager.
+     *
+     * @param firstMissed Sequence of the first lost event
+     * @param resumeAt    Sequence of the next event that will be delivered
+     */
+    default void onOverrun(long firstMissed, long resumeAt) {
+        System.err.printf("⚠ Event subscriber overrun: events %d-%d were lost%n", firstMissed, resumeAt - 1);
+    }
+}
@@ -0,0 +1,357 @@
+package assignment;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reconciles two member files (e.g. two sites or two backups) and writes
+ * a report of the members added, removed and changed, field by field.
+ * <pre>
+ * Change,ID,Field,Left,Right
+ * ADDED,M104,,,
+ * REMOVED,M007,,,
+ * CHANGED,M001,BaseFee,50.00,55.00
+ * </pre>
+ * Both files are streamed once and every member is written to one of
+ * several partition files chosen by a hash of its ID, so the two versions
+ * of a member land in partitions with the same number. Worker threads then
+ * compare the partitions in pairs, holding only one pair each in memory.
+ * The report lists the partitions in order and each partition's members
+ * sorted by ID, so it is identical whatever the number of threads.
+ *
+ * IDs match case-insensitively, as in MemberManager. Fees are compared in
+ * cents, as precise as data files store them. If a file repeats an ID, its
+ * first record is used.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class MemberFileDiff {
+    public static final String REPORT_HEADER = "Change,ID,Field,Left,Right";
+    public static final int DEFAULT_PARTITIONS = 64;
+    private static final int PARTITION_BUFFER = 32 * 1024;
+
+    /**
+     * Counts of a reconciliation.
+     */
+    public static final class Summary {
+        private long added;
+        private long removed;
+        private long changed;
+        private long unchanged;
+        private long duplicates;
+        private long elapsedNanos;
+
+        void add(Summary partition) {
+            added += partition.added;
+            removed += partition.removed;
+            changed += partition.changed;
+            unchanged += partition.unchanged;
+            duplicates += partition.duplicates;
+        }
+
+        /**
+         * Members only in the right (newer) file.
+         */
+        public long getAdded() {
+            return added;
+        }
+
+        /**
+         * Members only in the left (older) file.
+         */
+        public long getRemoved() {
+            return removed;
+        }
+
+        public long getChanged() {
+            return changed;
+        }
+
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        /**
+         * Records ignored because their file already had the ID.
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        public boolean isIdentical() {
+            return added == 0 && removed == 0 && changed == 0;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+    }
+
+    /**
+     * The report lines and counts of one partition.
+     */
+    private static final class Chunk {
+        final byte[] bytes;
+        final Summary counts;
+
+        Chunk(byte[] bytes, Summary counts) {
+            this.bytes = bytes;
+            this.counts = counts;
+        }
+    }
+
+    private final int partitions;
+    private final int threads;
+
+    /**
+     * Constructor for MemberFileDiff.
+     *
+     * @param partitions Number of hash partitions; more partitions use less
+     *                   memory per worker
+     * @param threads    Number of worker threads (at least 1)
+     */
+    public MemberFileDiff(int partitions, int threads) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("At least one partition is required");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.partitions = partitions;
+        this.threads = threads;
+    }
+
+    /**
+     * Compares two member files and writes the differences.
+     *
+     * @param left   Older file (CSV, JSON or NDJSON by extension)
+     * @param right  Newer file
+     * @param report Report file (compressed for .gz or .deflate)
+     * @return Counts of the differences
+     * @throws IOException if a file cannot be read or written
+     */
+    public Summary compare(String left, String right, String report) throws IOException {
+        long start = System.nanoTime();
+        Path reportPath = Path.of(report);
+        Path directory = reportPath.toAbsolutePath().getParent();
+        Path[] leftParts = new Path[partitions];
+        Path[] rightParts = new Path[partitions];
+        Summary summary = new Summary();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "member-diff");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Partition both files at the same time
+            Future<Void> leftDone = workers.submit(() -> partition(Path.of(left), leftParts, directory));
+            Future<Void> rightDone = workers.submit(() -> partition(Path.of(right), rightParts, directory));
+            IOException failure = null;
+            for (Future<Void> done : Arrays.asList(leftDone, rightDone)) {
+                try {
+                    await(done);
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            // Partitions are written in order; the window bounds memory
+            Deque<Future<Chunk>> window = new ArrayDeque<>();
+            int maxInFlight = threads * 2;
+            try (OutputStream out = MemberFileIO.newOutputStream(reportPath)) {
+                out.write((REPORT_HEADER + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                for (int p = 0; p < partitions; p++) {
+                    Path leftPart = leftParts[p];
+                    Path rightPart = rightParts[p];
+                    window.add(workers.submit(() -> compare(leftPart, rightPart)));
+                    if (window.size() >= maxInFlight) {
+                        writeChunk(await(window.poll()), out, summary);
+                    }
+                }
+                while (!window.isEmpty()) {
+                    writeChunk(await(window.poll()), out, summary);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+            deleteAll(leftParts);
+            deleteAll(rightParts);
+        }
+
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    /**
+     * Splits a member file into partition files by ID hash.
+     */
+    private Void partition(Path source, Path[] parts, Path directory) throws IOException {
+        MemberJsonWriter[] writers = new MemberJsonWriter[partitions];
+        try {
+            for (int p = 0; p < partitions; p++) {
+                parts[p] = Files.createTempFile(directory, "mms-diff-", ".part");
+                writers[p] = new MemberJsonWriter(new BufferedWriter(new OutputStreamWriter(
+                        Files.newOutputStream(parts[p]), StandardCharsets.UTF_8), PARTITION_BUFFER), true);
+            }
+            try (MemberFileReader in = new MemberFileReader(source)) {
+                Member member;
+                while ((member = in.next()) != null) {
+                    writers[partitionOf(MemberManager.idKey(member.getId()))].write(member);
+                }
+            }
+        } finally {
+            for (MemberJsonWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        return null;
+    }
+
+    private int partitionOf(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, partitions);
+    }
+
+    /**
+     * Compares one pair of partitions.
+     */
+    private static Chunk compare(Path leftPart, Path rightPart) throws IOException {
+        Summary counts = new Summary();
+        Map<String, Member> older = new HashMap<>();
+        Map<String, Member> newer = new HashMap<>();
+        counts.duplicates += read(leftPart, older);
+        counts.duplicates += read(rightPart, newer);
+
+        TreeSet<String> keys = new TreeSet<>(older.keySet());
+        keys.addAll(newer.keySet());
+        StringBuilder text = new StringBuilder();
+        String lineSeparator = System.lineSeparator();
+
+        for (String key : keys) {
+            Member before = older.get(key);
+            Member after = newer.get(key);
+            if (before == null) {
+                counts.added++;
+                text.append("ADDED,").append(sanitize(after.getId())).append(",,,").append(lineSeparator);
+            } else if (after == null) {
+                counts.removed++;
+                text.append("REMOVED,").append(sanitize(before.getId())).append(",,,").append(lineSeparator);
+            } else if (appendChanges(text, before, after, lineSeparator)) {
+                counts.changed++;
+            } else {
+                counts.unchanged++;
+            }
+        }
+        return new Chunk(text.toString().getBytes(StandardCharsets.UTF_8), counts);
+    }
+
+    /**
+     * Reads a partition file into a map by ID key.
+     *
+     * @return Number of records whose ID was already in the map
+     */
+    private static int read(Path part, Map<String, Member> members) throws IOException {
+        int duplicates = 0;
+        try (MemberJsonReader in = new MemberJsonReader(MemberFileIO.newReader(part))) {
+            Member member;
+            while ((member = in.next()) != null) {
+                if (members.putIfAbsent(MemberManager.idKey(member.getId()), member) != null) {
+                    duplicates++;
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Appends one CHANGED line per field that differs.
+     *
+     * @return true if any field differs
+     */
+    private static boolean appendChanges(StringBuilder text, Member before, Member after, String lineSeparator) {
+        int length = text.length();
+        String id = sanitize(after.getId());
+        field(text, id, "Type", typeOf(before), typeOf(after), lineSeparator);
+        field(text, id, "Name", sanitize(before.getName()), sanitize(after.getName()), lineSeparator);
+        field(text, id, "Age", Integer.toString(before.getAge()), Integer.toString(after.getAge()), lineSeparator);
+        field(text, id, "BaseFee", cents(before.getBaseFee()), cents(after.getBaseFee()), lineSeparator);
+        field(text, id, "PerformanceRating", Integer.toString(before.getPerformanceRating()),
+                Integer.toString(after.getPerformanceRating()), lineSeparator);
+        field(text, id, "AchievedGoal", Boolean.toString(before.isAchievedGoal()),
+                Boolean.toString(after.isAchievedGoal()), lineSeparator);
+        field(text, id, "TrainerFee", trainerFee(before), trainerFee(after), lineSeparator);
+        field(text, id, "RatingHistory", before.getRatingHistory().encode(),
+                after.getRatingHistory().encode(), lineSeparator);
+        return text.length() > length;
+    }
+
+    private static void field(StringBuilder text, String id, String name, String before, String after,
+            String lineSeparator) {
+        if (!before.equals(after)) {
+            text.append("CHANGED,").append(id).append(',').append(name)
+                .append(',').append(before).append(',').append(after).append(lineSeparator);
+        }
+    }
+
+    private static String typeOf(Member member) {
+        return member instanceof PTMember ? "PT" : "REGULAR";
+    }
+
+    private static String trainerFee(Member member) {
+        return member instanceof PTMember ? cents(((PTMember) member).getTrainerFee()) : "";
+    }
+
+    private static String cents(double amount) {
+        long cents = MemberStats.toCents(amount);
+        String sign = cents < 0 ? "-" : "";
+        cents = Math.abs(cents);
+        return sign + cents / 100 + "." + (cents % 100 < 10 ? "0" : "") + cents % 100;
+    }
+
+    private static String sanitize(String text) {
+        return text == null ? "" : text.replace(",", ";").trim();
+    }
+
+    private static void writeChunk(Chunk chunk, OutputStream out, Summary summary) throws IOException {
+        out.write(chunk.bytes);
+        summary.add(chunk.counts);
+    }
+
+    private static <T> T await(Future<T> pending) throws IOException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reconciliation interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Reconciliation failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    private static void deleteAll(Path[] paths) {
+        for (Path path : paths) {
+            if (path == null) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.err.println("⚠ Could not delete temporary file " + path + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package assignment;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.*;
+
+/**
+ * Opens member data files for streaming, with transparent compression.
+ * Readers detect gzip and zlib/deflate data from the first bytes, so any
+ * file can be loaded whatever its name. Writers pick compression from the
+ * file extension: ".gz" for gzip and ".deflate" or ".zz" for deflate.
+ * All other names are written as plain text.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class MemberFileIO {
+    // Large buffers keep the (de)compressor fed and reduce system calls
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Compression applied to a data file.
+     */
+    public enum Compression {
+        NONE, GZIP, DEFLATE
+    }
+
+    private MemberFileIO() {
+    }
+
+    /**
+     * Opens a data file for reading, decompressing it if needed.
+     *
+     * @param path The file to read
+     * @return UTF-8 reader over the (decompressed) contents
+     * @throws IOException if the file cannot be opened
+     */
+    public static BufferedReader newReader(Path path) throws IOException {
+        return newReader(path, null);
+    }
+
+    /**
+     * Opens a data file for reading and counts the raw bytes consumed, which
+     * lets callers report progress against the file size.
+     *
+     * @param path      The file to read
+     * @param bytesRead Counter incremented with every raw byte read (may be null)
+     * @return UTF-8 reader over the (decompressed) contents
+     * @throws IOException if the file cannot be opened
+     */
+    public static BufferedReader newReader(Path path, AtomicLong bytesRead) throws IOException {
+        return new BufferedReader(new InputStreamReader(newInputStream(path, bytesRead), StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a data file for reading raw bytes, decompressing it if needed.
+     *
+     * @param path      The file to read
+     * @param bytesRead Counter incremented with every raw byte read (may be null)
+     * @return Stream over the (decompressed) contents
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream newInputStream(Path path, AtomicLong bytesRead) throws IOException {
+        InputStream raw = Files.newInputStream(path);
+        if (bytesRead != null) {
+            raw = new CountingInputStream(raw, bytesRead);
+        }
+        BufferedInputStream in = new BufferedInputStream(raw, BUFFER_SIZE);
+
+        try {
+            switch (detect(in)) {
+                case GZIP:
+                    return new GZIPInputStream(in, BUFFER_SIZE);
+                case DEFLATE:
+                    return new InflaterInputStream(in, new Inflater(), BUFFER_SIZE);
+                default:
+                    return in;
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Detects the compression of an existing file from its first bytes.
+     *
+     * @param path The file to inspect
+     * @return Compression of the file's contents
+     * @throws IOException if the file cannot be read
+     */
+    public static Compression compressionOf(Path path) throws IOException {
+        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(path), 2)) {
+            return detect(in);
+        }
+    }
+
+    /**
+     * Opens a data file for writing, compressing it according to its extension.
+     *
+     * @param path The file to write (created or truncated)
+     * @return UTF-8 writer; closing it finishes the compressed stream
+     * @throws IOException if the file cannot be created
+     */
+    public static BufferedWriter newWriter(Path path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(newOutputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a data file for writing raw bytes, compressing it according to
+     * its extension.
+     *
+     * @param path The file to write (created or truncated)
+     * @return Output stream; closing it finishes the compressed stream
+     * @throws IOException if the file cannot be created
+     */
+    public static OutputStream newOutputStream(Path path) throws IOException {
+        OutputStream raw = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+
+        switch (compressionFor(path)) {
+            case GZIP:
+                return new GZIPOutputStream(raw, BUFFER_SIZE);
+            case DEFLATE:
+                return new DeflaterOutputStream(raw, new Deflater(), BUFFER_SIZE);
+            default:
+                return raw;
+        }
+    }
+
+    /**
+     * Chooses the compression for a file written to the given path.
+     *
+     * @param path Destination file
+     * @return Compression implied by the file extension
+     */
+    public static Compression compressionFor(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            return Compression.GZIP;
+        }
+        if (name.endsWith(".deflate") || name.endsWith(".zz")) {
+            return Compression.DEFLATE;
+        }
+        return Compression.NONE;
+    }
+
+    /**
+     * Detects compression from the magic bytes at the start of a stream
+     * without consuming them.
+     *
+     * @param in Stream positioned at the start of the file
+     * @return Detected compression
+     * @throws IOException if the stream cannot be read
+     */
+    private static Compression detect(BufferedInputStream in) throws IOException {
+        in.mark(2);
+        int b0 = in.read();
+        int b1 = in.read();
+        in.reset();
+
+        if (b0 == 0x1f && b1 == 0x8b) {
+            return Compression.GZIP;
+        }
+        // zlib header: deflate method, 32K window, header check divisible by 31
+        if (b0 == 0x78 && b1 >= 0 && ((b0 << 8) | b1) % 31 == 0) {
+            return Compression.DEFLATE;
+        }
+        return Compression.NONE;
+    }
+
+    /**
+     * Adds the number of bytes read to a shared counter.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
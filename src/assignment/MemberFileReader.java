@@ -0,0 +1,85 @@
+package assignment;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Reads members one at a time from a CSV, JSON or NDJSON member file,
+ * choosing the format from the file name (see MemberManager.convertFile).
+ * Invalid records, including CSV records whose checksum does not match,
+ * are reported and skipped.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class MemberFileReader implements Closeable {
+    private final BufferedReader in;
+    private final MemberJsonReader json;
+    private int lineNumber = 1;
+
+    /**
+     * Opens a member file.
+     *
+     * @param path The file to read (may be compressed)
+     * @throws IOException if the file cannot be opened
+     */
+    MemberFileReader(Path path) throws IOException {
+        this.in = MemberFileIO.newReader(path);
+        if (formatOf(path.toString()).equals("csv")) {
+            this.json = null;
+            in.readLine(); // header
+        } else {
+            this.json = new MemberJsonReader(in);
+        }
+    }
+
+    /**
+     * Returns the format of a member file from its name.
+     *
+     * @param path File name, optionally with a compression extension
+     * @return "csv", "json" or "ndjson"
+     */
+    static String formatOf(String path) {
+        String lower = path.toLowerCase(Locale.ROOT).replaceFirst("\\.(gz|deflate|zz)$", "");
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return "ndjson";
+        }
+        if (lower.endsWith(".json")) {
+            return "json";
+        }
+        return "csv";
+    }
+
+    /**
+     * Reads the next valid member.
+     *
+     * @return The member, or null at the end of the file
+     * @throws IOException if reading fails
+     */
+    Member next() throws IOException {
+        while (true) {
+            try {
+                if (json != null) {
+                    return json.next();
+                }
+                String line = in.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+                if (!line.trim().isEmpty() && !RecordChecksums.isMarker(line)) {
+                    return MemberManager.parseMemberFromCSV(RecordChecksums.strip(line));
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println("⚠ Skipping record"
+                        + (json == null ? " on line " + lineNumber : "") + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
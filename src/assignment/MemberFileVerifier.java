@@ -0,0 +1,470 @@
+package assignment;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+/**
+ * Checks the record and block checksums of a data file (see RecordChecksums)
+ * without parsing any member, and lists the corrupt blocks by line number.
+ * Lines without a checksum, e.g. added in a text editor, are counted as
+ * plain records and left out of the block checksums, as loading does.
+ *
+ * An uncompressed file is cut into byte ranges that worker threads check at
+ * the same time. A worker owns the blocks whose opening line (the header or
+ * the previous block's marker) starts in its range: it skips to the first
+ * marker in the range and reads on past the end of the range to finish its
+ * last block. Each worker also counts the lines in its range, from which the
+ * line numbers of every block are worked out afterwards. Compressed files
+ * are checked by a single worker.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class MemberFileVerifier {
+    private static final int RANGES_PER_THREAD = 4;
+    private static final int MIN_RANGE_BYTES = 1 << 20;
+    private static final byte[] MARKER = RecordChecksums.MARKER_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * A block that failed verification.
+     */
+    public static final class CorruptBlock {
+        private final long index;
+        private final long firstLine;
+        private final long lastLine;
+        private final String reason;
+
+        CorruptBlock(long index, long firstLine, long lastLine, String reason) {
+            this.index = index;
+            this.firstLine = firstLine;
+            this.lastLine = lastLine;
+            this.reason = reason;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public long getFirstLine() {
+            return firstLine;
+        }
+
+        public long getLastLine() {
+            return lastLine;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "block " + index + ", lines " + firstLine + "-" + lastLine + ": " + reason;
+        }
+    }
+
+    /**
+     * Result of a verification.
+     */
+    public static final class Report {
+        private boolean checksummed;
+        private long blocks;
+        private long records;
+        private long plainRecords;
+        private final List<CorruptBlock> corrupt = new ArrayList<>();
+        private long elapsedNanos;
+
+        /**
+         * Returns false for a file saved without checksums (nothing was checked).
+         */
+        public boolean isChecksummed() {
+            return checksummed;
+        }
+
+        public long getBlockCount() {
+            return blocks;
+        }
+
+        public long getRecordCount() {
+            return records;
+        }
+
+        /**
+         * Returns the number of records without a checksum, which are not checked.
+         */
+        public long getPlainRecordCount() {
+            return plainRecords;
+        }
+
+        public List<CorruptBlock> getCorruptBlocks() {
+            return Collections.unmodifiableList(corrupt);
+        }
+
+        public boolean isClean() {
+            return corrupt.isEmpty();
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1e9;
+        }
+    }
+
+    /**
+     * One block as seen by a worker; line numbers are relative to its range.
+     */
+    private static final class BlockResult {
+        long index = -1;
+        // Newlines between the start of the range and the block's opening line
+        long openerNewlines;
+        // Lines after the opening line, up to and including the closing marker
+        long lines;
+        int records;
+        int plainRecords;
+        String problem;
+        // Line of the first bad record, counted from the opening line (0 if none)
+        long problemLine;
+    }
+
+    /**
+     * What a worker found in its range.
+     */
+    private static final class RangeResult {
+        final List<BlockResult> blocks = new ArrayList<>();
+        long newlines;
+    }
+
+    private final int threads;
+
+    /**
+     * Constructor for MemberFileVerifier.
+     *
+     * @param threads Number of worker threads (at least 1)
+     */
+    public MemberFileVerifier(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Verifies a data file.
+     *
+     * @param path The file to check
+     * @return Blocks and records checked and the corrupt blocks
+     * @throws IOException if the file cannot be read
+     */
+    public Report verify(Path path) throws IOException {
+        long start = System.nanoTime();
+        Report report = new Report();
+        report.checksummed = hasChecksums(path);
+        if (!report.checksummed) {
+            report.elapsedNanos = System.nanoTime() - start;
+            return report;
+        }
+
+        boolean compressed = MemberFileIO.compressionOf(path) != MemberFileIO.Compression.NONE;
+        long size = Files.size(path);
+        int ranges = compressed ? 1
+                : (int) Math.max(1, Math.min((long) threads * RANGES_PER_THREAD, size / MIN_RANGE_BYTES));
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(threads, ranges), runnable -> {
+            Thread thread = new Thread(runnable, "file-verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<RangeResult> results = new ArrayList<>(ranges);
+        try {
+            List<Future<RangeResult>> pending = new ArrayList<>(ranges);
+            for (int r = 0; r < ranges; r++) {
+                long from = compressed ? 0 : size * r / ranges;
+                long to = compressed ? Long.MAX_VALUE : size * (r + 1) / ranges;
+                pending.add(workers.submit(() -> checkRange(path, compressed, from, to)));
+            }
+            for (Future<RangeResult> result : pending) {
+                results.add(await(result));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        // Number the lines and check that no block is missing
+        long linesBefore = 0;
+        long expectedBlock = 0;
+        for (RangeResult range : results) {
+            for (BlockResult block : range.blocks) {
+                long openerLine = linesBefore + block.openerNewlines + 1;
+                report.blocks++;
+                report.records += block.records;
+                report.plainRecords += block.plainRecords;
+                if (block.index > expectedBlock && block.problem == null) {
+                    report.corrupt.add(new CorruptBlock(expectedBlock, openerLine, openerLine,
+                            "blocks " + expectedBlock + "-" + (block.index - 1) + " missing"));
+                }
+                long index = block.index >= 0 ? block.index : expectedBlock;
+                if (block.problem != null) {
+                    String reason = block.problem
+                            + (block.problemLine > 0 ? " on line " + (openerLine + block.problemLine) : "");
+                    report.corrupt.add(new CorruptBlock(index, openerLine + 1, openerLine + block.lines, reason));
+                }
+                expectedBlock = Math.max(expectedBlock, index) + 1;
+            }
+            linesBefore += range.newlines;
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * Checks whether any record or marker of a file carries checksums; the
+     * first lines may have been added without one.
+     */
+    private static boolean hasChecksums(Path path) throws IOException {
+        try (BufferedReader reader = MemberFileIO.newReader(path)) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (RecordChecksums.isMarker(line) || RecordChecksums.hasChecksum(line)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the blocks that open in [from, to).
+     */
+    private static RangeResult checkRange(Path path, boolean compressed, long from, long to) throws IOException {
+        RangeResult result = new RangeResult();
+        try (LineInput in = compressed ? new LineInput(MemberFileIO.newInputStream(path, null), 0, to)
+                : LineInput.open(path, from, to)) {
+            BlockResult block = null;
+            CRC32 crc = new CRC32();
+            RecordChecksums.Block checksums = new RecordChecksums.Block();
+
+            if (from == 0) {
+                // The header opens the first block
+                in.next();
+                block = new BlockResult();
+            } else if (!in.startsAtLine()) {
+                in.next(); // the rest of a line that belongs to the previous range
+            }
+
+            while (in.next()) {
+                boolean marker = in.startsWith(MARKER);
+                if (block == null) {
+                    if (marker) {
+                        if (in.start >= to) {
+                            break;
+                        }
+                        block = new BlockResult();
+                        block.openerNewlines = in.newlinesBefore;
+                    }
+                    continue;
+                }
+
+                block.lines++;
+                if (marker) {
+                    String text = new String(in.line, 0, in.length, StandardCharsets.US_ASCII);
+                    if (block.problem == null) {
+                        block.problem = checksums.check(text);
+                    }
+                    block.index = RecordChecksums.markerIndex(text);
+                    result.blocks.add(block);
+                    checksums.reset();
+                    if (in.start >= to) {
+                        block = null;
+                        break;
+                    }
+                    block = new BlockResult();
+                    block.openerNewlines = in.newlinesBefore;
+                } else if (!in.isBlank() && !hasChecksum(in)) {
+                    block.plainRecords++;
+                } else if (!in.isBlank()) {
+                    block.records++;
+                    String problem = checkRecord(in, crc, checksums);
+                    if (problem != null && block.problem == null) {
+                        block.problem = problem;
+                        block.problemLine = block.lines;
+                    }
+                }
+            }
+            if (block != null && (block.records > 0 || block.problem != null)) {
+                block.problem = block.problem != null ? block.problem : "no block marker (file truncated?)";
+                result.blocks.add(block);
+            }
+            result.newlines = in.newlinesInRange;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a line ends with a "*hex8" record checksum.
+     */
+    private static boolean hasChecksum(LineInput in) {
+        int star = in.length - RecordChecksums.SUFFIX_LENGTH;
+        if (star < 0 || in.line[star] != '*') {
+            return false;
+        }
+        for (int i = star + 1; i < in.length; i++) {
+            if (Character.digit(in.line[i], 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifies a record's checksum and adds it to the block checksum.
+     *
+     * @return null if the record is intact, otherwise the problem
+     */
+    private static String checkRecord(LineInput in, CRC32 crc, RecordChecksums.Block checksums) {
+        int star = in.length - RecordChecksums.SUFFIX_LENGTH;
+        int stored = 0;
+        for (int i = star + 1; i < in.length; i++) {
+            stored = (stored << 4) | Character.digit(in.line[i], 16);
+        }
+        checksums.add(stored);
+        crc.reset();
+        crc.update(in.line, 0, star);
+        return (int) crc.getValue() == stored ? null : "record checksum mismatch";
+    }
+
+    private static <T> T await(Future<T> pending) throws IOException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Verification interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Verification failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Splits a byte stream into lines, tracking their file positions.
+     */
+    private static final class LineInput implements Closeable {
+        private final InputStream in;
+        private final long rangeEnd;
+        private final byte[] buffer = new byte[MemberFileIO.BUFFER_SIZE];
+        private int bufferPosition;
+        private int bufferLimit;
+        private long position;
+        private boolean atLineStart;
+        // Current line without its terminator
+        byte[] line = new byte[256];
+        int length;
+        long start;
+        long newlinesBefore;
+        long newlinesInRange;
+
+        LineInput(InputStream in, long position, long rangeEnd) {
+            this.in = in;
+            this.position = position;
+            this.rangeEnd = rangeEnd;
+            this.atLineStart = position == 0;
+        }
+
+        /**
+         * Opens an uncompressed file at a byte position.
+         */
+        static LineInput open(Path path, long from, long to) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                boolean lineStart = from == 0;
+                if (!lineStart) {
+                    ByteBuffer previous = ByteBuffer.allocate(1);
+                    channel.read(previous, from - 1);
+                    lineStart = previous.get(0) == '\n';
+                }
+                channel.position(from);
+                LineInput input = new LineInput(Channels.newInputStream(channel), from, to);
+                input.atLineStart = lineStart;
+                return input;
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns true if the range starts at the beginning of a line.
+         */
+        boolean startsAtLine() {
+            return atLineStart;
+        }
+
+        /**
+         * Reads the next line.
+         *
+         * @return false at the end of the file
+         */
+        boolean next() throws IOException {
+            start = position;
+            newlinesBefore = newlinesInRange;
+            length = 0;
+            while (true) {
+                if (bufferPosition == bufferLimit) {
+                    bufferLimit = in.read(buffer, 0, buffer.length);
+                    bufferPosition = 0;
+                    if (bufferLimit <= 0) {
+                        bufferLimit = 0;
+                        return length > 0;
+                    }
+                }
+                byte b = buffer[bufferPosition++];
+                position++;
+                if (b == '\n') {
+                    if (position - 1 < rangeEnd) {
+                        newlinesInRange++;
+                    }
+                    if (length > 0 && line[length - 1] == '\r') {
+                        length--;
+                    }
+                    return true;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+        }
+
+        boolean startsWith(byte[] prefix) {
+            if (length < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (line[i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isBlank() {
+            for (int i = 0; i < length; i++) {
+                if ((line[i] & 0xFF) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package assignment;
+
+import java.io.*;
+import java.nio.file.Path;
+
+/**
+ * Writes members one at a time to a CSV, JSON or NDJSON member file,
+ * choosing the format from the file name as MemberFileReader does. CSV
+ * files get record and block checksums like a saved data file.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class MemberFileWriter implements Closeable {
+    private final MemberCsvWriter csv;
+    private final MemberJsonWriter json;
+
+    /**
+     * Creates a member file, with a header line and checksums for CSV.
+     *
+     * @param path The file to write (compressed for .gz or .deflate)
+     * @throws IOException if the file cannot be created
+     */
+    MemberFileWriter(Path path) throws IOException {
+        String format = MemberFileReader.formatOf(path.toString());
+        if (format.equals("csv")) {
+            csv = new MemberCsvWriter(MemberFileIO.newOutputStream(path));
+            json = null;
+            csv.writeHeader();
+            csv.enableChecksums();
+        } else {
+            csv = null;
+            json = new MemberJsonWriter(MemberFileIO.newWriter(path), format.equals("ndjson"));
+        }
+    }
+
+    void write(Member member) throws IOException {
+        if (csv != null) {
+            csv.write(member);
+        } else {
+            json.write(member);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (csv != null) {
+            csv.close();
+        } else {
+            json.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package assignment;
+
+/**
+ * A condition on member type, goal status and rating, answered from bitmap
+ * indexes (see MemberManager.filter and MemberManager.count).
+ * <pre>
+ * MemberFilter.ptMembers().and(MemberFilter.achievedGoal()).and(MemberFilter.ratingBetween(75, 100))
+ * </pre>
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public abstract class MemberFilter {
+    private final String description;
+
+    private MemberFilter(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Computes the slots of the members that match.
+     */
+    abstract SlotBitmap evaluate(MemberBitmapIndex index);
+
+    public static MemberFilter all() {
+        return new MemberFilter("all members") {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return index.all();
+            }
+        };
+    }
+
+    public static MemberFilter ptMembers() {
+        return new MemberFilter("PT") {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return index.ptMembers();
+            }
+        };
+    }
+
+    public static MemberFilter regularMembers() {
+        return new MemberFilter("regular") {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return index.regularMembers();
+            }
+        };
+    }
+
+    public static MemberFilter achievedGoal() {
+        return new MemberFilter("goal achieved") {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return index.achievedGoal();
+            }
+        };
+    }
+
+    /**
+     * Matches members with a performance rating in a range.
+     *
+     * @param min Lowest rating (inclusive)
+     * @param max Highest rating (inclusive)
+     * @return The filter
+     * @throws IllegalArgumentException if the range is not within 0-100
+     */
+    public static MemberFilter ratingBetween(int min, int max) {
+        if (min < 0 || max > 100 || min > max) {
+            throw new IllegalArgumentException("Rating range must be within 0-100");
+        }
+        return new MemberFilter("rating " + min + "-" + max) {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return index.ratingBetween(min, max);
+            }
+        };
+    }
+
+    public MemberFilter and(MemberFilter other) {
+        MemberFilter self = this;
+        return new MemberFilter("(" + this + " AND " + other + ")") {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return self.evaluate(index).and(other.evaluate(index));
+            }
+        };
+    }
+
+    public MemberFilter or(MemberFilter other) {
+        MemberFilter self = this;
+        return new MemberFilter("(" + this + " OR " + other + ")") {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return self.evaluate(index).or(other.evaluate(index));
+            }
+        };
+    }
+
+    public MemberFilter not() {
+        MemberFilter self = this;
+        return new MemberFilter("NOT " + this) {
+            @Override
+            SlotBitmap evaluate(MemberBitmapIndex index) {
+                return index.all().andNot(self.evaluate(index));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
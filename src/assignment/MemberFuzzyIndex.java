@@ -0,0 +1,202 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * BK-tree over the distinct name keys of all members (lower-cased full names
+ * and the name from each later word on, as in MemberPrefixIndex). A search
+ * for names within edit distance k of a query only compares the query with
+ * terms whose distance to a visited term differs by at most k, so it visits
+ * a small part of the tree instead of every member.
+ *
+ * Terms are reference-counted. A term whose members are all gone stays in
+ * the tree but is skipped; the tree is rebuilt once such terms outnumber
+ * the live ones.
+ *
+ * Not thread-safe; MemberManager keeps it up to date under its own lock.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class MemberFuzzyIndex {
+    private static final int REBUILD_MIN_DEAD_TERMS = 1024;
+
+    private static final class Node {
+        final String term;
+        int count; // members with this term
+        int[] distances = new int[0]; // edge labels, parallel to children
+        Node[] children = new Node[0];
+
+        Node(String term) {
+            this.term = term;
+        }
+    }
+
+    /**
+     * A term found by search() and its distance from the query.
+     */
+    static final class Match {
+        final String term;
+        final int distance;
+
+        Match(String term, int distance) {
+            this.term = term;
+            this.distance = distance;
+        }
+    }
+
+    private Node root;
+    private final Map<String, Node> nodesByTerm = new HashMap<>();
+    private int liveTerms;
+    // Reused rows of the edit-distance table
+    private int[] previousRow = new int[32];
+    private int[] currentRow = new int[32];
+
+    void add(Member member) {
+        for (String term : MemberPrefixIndex.nameKeys(member)) {
+            Node node = nodesByTerm.get(term);
+            if (node == null) {
+                node = insert(term);
+                nodesByTerm.put(term, node);
+            }
+            if (node.count++ == 0) {
+                liveTerms++;
+            }
+        }
+    }
+
+    void remove(Member member) {
+        for (String term : MemberPrefixIndex.nameKeys(member)) {
+            Node node = nodesByTerm.get(term);
+            if (node != null && node.count > 0 && --node.count == 0) {
+                liveTerms--;
+            }
+        }
+
+        int deadTerms = nodesByTerm.size() - liveTerms;
+        if (deadTerms > REBUILD_MIN_DEAD_TERMS && deadTerms > liveTerms) {
+            rebuild();
+        }
+    }
+
+    void clear() {
+        root = null;
+        nodesByTerm.clear();
+        liveTerms = 0;
+    }
+
+    /**
+     * Finds the live terms within an edit distance of the query.
+     *
+     * @param query       Lower-cased, trimmed query
+     * @param maxDistance Maximum Levenshtein distance
+     * @return Matching terms, nearest first
+     */
+    List<Match> search(String query, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.term);
+            if (distance <= maxDistance && node.count > 0) {
+                matches.add(new Match(node.term, distance));
+            }
+            // Triangle inequality: only these subtrees can hold matches
+            for (int i = 0; i < node.children.length; i++) {
+                if (Math.abs(node.distances[i] - distance) <= maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+        matches.sort((a, b) -> a.distance != b.distance
+                ? Integer.compare(a.distance, b.distance) : a.term.compareTo(b.term));
+        return matches;
+    }
+
+    private Node insert(String term) {
+        Node created = new Node(term);
+        if (root == null) {
+            root = created;
+            return created;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = distance(term, node.term);
+            int index = indexOf(node.distances, distance);
+            if (index < 0) {
+                int size = node.children.length;
+                node.distances = Arrays.copyOf(node.distances, size + 1);
+                node.children = Arrays.copyOf(node.children, size + 1);
+                node.distances[size] = distance;
+                node.children[size] = created;
+                return created;
+            }
+            node = node.children[index];
+        }
+    }
+
+    /**
+     * Rebuilds the tree from the live terms only.
+     */
+    private void rebuild() {
+        Map<String, Node> old = new HashMap<>(nodesByTerm);
+        clear();
+        for (Node node : old.values()) {
+            if (node.count > 0) {
+                Node rebuilt = insert(node.term);
+                rebuilt.count = node.count;
+                nodesByTerm.put(node.term, rebuilt);
+                liveTerms++;
+            }
+        }
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int distance(String a, String b) {
+        if (b.length() + 1 > previousRow.length) {
+            previousRow = new int[b.length() + 1];
+            currentRow = new int[b.length() + 1];
+        }
+        return distance(a, b, previousRow, currentRow);
+    }
+
+    /**
+     * Levenshtein distance using caller-supplied rows.
+     *
+     * @param previous Scratch row of at least b.length() + 1 entries
+     * @param current  Second scratch row of the same size
+     * @return Number of single-character insertions, deletions and substitutions
+     */
+    static int distance(String a, String b, int[] previous, int[] current) {
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
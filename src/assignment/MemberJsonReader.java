@@ -0,0 +1,536 @@
+package assignment;
+
+import java.io.*;
+
+/**
+ * Streams members from NDJSON (one object per line) or from a JSON array.
+ * The format is detected from the first character. Members are parsed one
+ * at a time from a fixed-size character buffer, so files of any size can be
+ * read in constant memory. Field names are matched without creating
+ * Strings, and most fee values are parsed without a Double.parseDouble call.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MemberJsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Powers of ten that are exact as doubles, used by the number fast path
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Reader in;
+    private final char[] buf;
+    private int pos;
+    private int limit;
+    private int line = 1;
+    // Reused for keys, strings and number text
+    private final StringBuilder text = new StringBuilder();
+
+    private boolean started;
+    private boolean inArray;
+    private boolean finished;
+
+    // Fields of the record currently being parsed
+    private String type;
+    private String id;
+    private String name;
+    private int age;
+    private double baseFee;
+    private int performanceRating;
+    private boolean achievedGoal;
+    private double trainerFee;
+    private boolean hasAge;
+    private boolean hasBaseFee;
+    private boolean hasTrainerFee;
+    private RatingHistory ratingHistory;
+
+    /**
+     * Constructor for MemberJsonReader.
+     *
+     * @param in Source of JSON text
+     */
+    public MemberJsonReader(Reader in) {
+        this(in, BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor for a reader with a given buffer size. A small buffer
+     * keeps parsing a single short record (such as one NDJSON line held in
+     * a String) cheap.
+     *
+     * @param in         Source of JSON text
+     * @param bufferSize Number of characters to read at a time
+     */
+    MemberJsonReader(Reader in, int bufferSize) {
+        this.in = in;
+        this.buf = new char[Math.max(16, bufferSize)];
+    }
+
+    /**
+     * Reads the next member.
+     * If a record is malformed, the rest of its line is skipped and an
+     * exception is thrown; calling next() again continues with the
+     * following record.
+     *
+     * @return The next member, or null at the end of the input
+     * @throws IOException              if reading fails
+     * @throws IllegalArgumentException if the record is malformed or invalid
+     */
+    public Member next() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        int c = skipSeparators();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                inArray = true;
+                read();
+                c = skipSeparators();
+            }
+        }
+
+        if (c == -1) {
+            finished = true;
+            if (inArray) {
+                throw new IllegalArgumentException("line " + line + ": unterminated JSON array");
+            }
+            return null;
+        }
+        if (c == ']' && inArray) {
+            read();
+            finished = true;
+            return null;
+        }
+
+        int startLine = line;
+        try {
+            return readMember();
+        } catch (IllegalArgumentException e) {
+            skipLine(startLine);
+            throw new IllegalArgumentException("line " + startLine + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the current line number in the input.
+     *
+     * @return Line number (1-based)
+     */
+    public int getLineNumber() {
+        return line;
+    }
+
+    private Member readMember() throws IOException {
+        expect('{');
+        type = null;
+        id = null;
+        name = null;
+        performanceRating = 0;
+        achievedGoal = false;
+        hasAge = false;
+        hasBaseFee = false;
+        hasTrainerFee = false;
+        ratingHistory = null;
+
+        int c = skipWhitespace();
+        if (c == '}') {
+            read();
+        } else {
+            while (true) {
+                readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                readField();
+
+                c = skipWhitespace();
+                read();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw new IllegalArgumentException("expected ',' or '}' in object");
+                }
+                skipWhitespace();
+            }
+        }
+
+        return buildMember();
+    }
+
+    /**
+     * Reads the value for the key currently held in the text buffer.
+     */
+    private void readField() throws IOException {
+        if (isKey("type")) {
+            type = readStringValue();
+        } else if (isKey("id")) {
+            id = readStringValue();
+        } else if (isKey("name")) {
+            name = readStringValue();
+        } else if (isKey("age")) {
+            age = readInt();
+            hasAge = true;
+        } else if (isKey("baseFee")) {
+            baseFee = readNumber();
+            hasBaseFee = true;
+        } else if (isKey("performanceRating")) {
+            performanceRating = readInt();
+        } else if (isKey("achievedGoal")) {
+            achievedGoal = readBoolean();
+        } else if (isKey("trainerFee")) {
+            trainerFee = readNumber();
+            hasTrainerFee = true;
+        } else if (isKey("ratingHistory")) {
+            ratingHistory = readRatingHistory();
+        } else {
+            skipValue();
+        }
+    }
+
+    private Member buildMember() {
+        if (type == null || id == null || name == null || !hasAge || !hasBaseFee) {
+            throw new IllegalArgumentException("missing required member fields");
+        }
+
+        Member member;
+        if (type.equalsIgnoreCase("PT")) {
+            if (!hasTrainerFee) {
+                throw new IllegalArgumentException("PT member missing trainer fee");
+            }
+            member = PTMember.fromCSVParts(id, name, age, baseFee,
+                    performanceRating, achievedGoal, trainerFee);
+        } else {
+            member = RegularMember.fromCSV(id, name, age, baseFee,
+                    performanceRating, achievedGoal);
+        }
+
+        if (ratingHistory != null) {
+            member.setRatingHistory(ratingHistory);
+        }
+        return member;
+    }
+
+    private boolean isKey(String key) {
+        return text.length() == key.length() && key.contentEquals(text);
+    }
+
+    // Value readers
+
+    private String readStringValue() throws IOException {
+        if (peek() != '"') {
+            throw new IllegalArgumentException("expected a string value");
+        }
+        readString();
+        return text.toString();
+    }
+
+    /**
+     * Reads a JSON string into the text buffer, decoding escapes.
+     */
+    private void readString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1 || c == '\n') {
+                throw new IllegalArgumentException("unterminated string");
+            }
+            if (c == '"') {
+                return;
+            }
+            if (c != '\\') {
+                text.append((char) c);
+                continue;
+            }
+
+            int e = read();
+            switch (e) {
+                case '"':
+                case '\\':
+                case '/':
+                    text.append((char) e);
+                    break;
+                case 'b':
+                    text.append('\b');
+                    break;
+                case 'f':
+                    text.append('\f');
+                    break;
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) {
+                            throw new IllegalArgumentException("invalid \\u escape");
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    text.append((char) code);
+                    break;
+                default:
+                    throw new IllegalArgumentException("invalid escape sequence");
+            }
+        }
+    }
+
+    /**
+     * Reads a rating history written as [[rating,time],[rating,time],...].
+     */
+    private RatingHistory readRatingHistory() throws IOException {
+        RatingHistory history = new RatingHistory();
+        expect('[');
+        int c = skipWhitespace();
+        while (c != ']') {
+            expect('[');
+            skipWhitespace();
+            int rating = readInt();
+            skipWhitespace();
+            expect(',');
+            skipWhitespace();
+            double time = readNumber();
+            skipWhitespace();
+            expect(']');
+
+            if (rating < 0 || rating > 100) {
+                throw new IllegalArgumentException("Performance rating must be between 0 and 100");
+            }
+            history.record(rating, (long) time);
+
+            c = skipWhitespace();
+            if (c == ',') {
+                read();
+                c = skipWhitespace();
+            } else if (c != ']') {
+                throw new IllegalArgumentException("expected ',' or ']' in rating history");
+            }
+        }
+        read();
+        return history;
+    }
+
+    private int readInt() throws IOException {
+        double value = readNumber();
+        if (value != Math.rint(value) || Math.abs(value) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("expected an integer value");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a JSON number. Values with at most 15 significant digits and a
+     * small exponent are computed exactly from the digits; anything else
+     * falls back to Double.parseDouble.
+     */
+    private double readNumber() throws IOException {
+        text.setLength(0);
+        boolean negative = false;
+        long mantissa = 0;
+        int significant = 0;
+        int scale = 0;
+        boolean seenDigit = false;
+        boolean fraction = false;
+        boolean exact = true;
+
+        int c = peek();
+        if (c == '-') {
+            negative = true;
+            text.append((char) read());
+            c = peek();
+        }
+        while ((c >= '0' && c <= '9') || c == '.') {
+            text.append((char) read());
+            if (c == '.') {
+                if (fraction) {
+                    throw new IllegalArgumentException("invalid number");
+                }
+                fraction = true;
+            } else {
+                seenDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    significant++;
+                }
+                if (significant <= 15) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (fraction) {
+                        scale++;
+                    }
+                } else if (!fraction) {
+                    exact = false;
+                } else if (c != '0') {
+                    exact = false;
+                }
+            }
+            c = peek();
+        }
+        if (!seenDigit) {
+            throw new IllegalArgumentException("expected a number");
+        }
+
+        int exponent = 0;
+        if (c == 'e' || c == 'E') {
+            text.append((char) read());
+            c = peek();
+            boolean negativeExponent = (c == '-');
+            if (c == '+' || c == '-') {
+                text.append((char) read());
+            }
+            boolean expDigits = false;
+            while ((c = peek()) >= '0' && c <= '9') {
+                text.append((char) read());
+                exponent = Math.min(1000, exponent * 10 + (c - '0'));
+                expDigits = true;
+            }
+            if (!expDigits) {
+                throw new IllegalArgumentException("invalid number exponent");
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+
+        int power = exponent - scale;
+        if (exact && power >= -22 && power <= 22) {
+            double value = power < 0 ? mantissa / POW10[-power] : mantissa * POW10[power];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(text.toString());
+    }
+
+    private boolean readBoolean() throws IOException {
+        int c = peek();
+        if (c == 't') {
+            expectLiteral("true");
+            return true;
+        }
+        if (c == 'f') {
+            expectLiteral("false");
+            return false;
+        }
+        throw new IllegalArgumentException("expected true or false");
+    }
+
+    /**
+     * Skips over a value of any type, including nested objects and arrays.
+     */
+    private void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = peek();
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                read();
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                } else if (c == -1) {
+                    throw new IllegalArgumentException("unterminated value");
+                }
+            } while (depth > 0);
+        } else if (c == 't') {
+            expectLiteral("true");
+        } else if (c == 'f') {
+            expectLiteral("false");
+        } else if (c == 'n') {
+            expectLiteral("null");
+        } else {
+            readNumber();
+        }
+    }
+
+    // Character-level helpers
+
+    private int peek() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buf[pos];
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            pos++;
+            if (c == '\n') {
+                line++;
+            }
+        }
+        return c;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            read();
+            c = peek();
+        }
+        return c;
+    }
+
+    /**
+     * Skips whitespace and the commas between array elements.
+     */
+    private int skipSeparators() throws IOException {
+        int c = skipWhitespace();
+        while (c == ',' && inArray) {
+            read();
+            c = skipWhitespace();
+        }
+        return c;
+    }
+
+    /**
+     * Skips to the end of the line where a malformed record started, unless
+     * parsing already moved past it.
+     */
+    private void skipLine(int startLine) throws IOException {
+        int c;
+        while (line == startLine && (c = read()) != -1 && c != '\n') {
+            // discard the rest of the bad record
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (read() != expected) {
+            throw new IllegalArgumentException("expected '" + expected + "'");
+        }
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw new IllegalArgumentException("expected " + literal);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
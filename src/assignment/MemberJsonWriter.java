@@ -0,0 +1,166 @@
+package assignment;
+
+import java.io.*;
+
+/**
+ * Streams members to JSON, either as NDJSON (one object per line) or as a
+ * single JSON array. Members are written one at a time straight to the
+ * underlying Writer, so exports need no more memory than one record.
+ *
+ * Names are escaped rather than sanitized, so they round-trip exactly.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MemberJsonWriter implements Closeable {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private final boolean ndjson;
+    // Scratch space for formatting integers without creating Strings
+    private final char[] digits = new char[20];
+    private int written;
+
+    /**
+     * Constructor for MemberJsonWriter.
+     *
+     * @param out    Destination for the JSON text
+     * @param ndjson true for newline-delimited objects, false for a JSON array
+     * @throws IOException if the opening bracket cannot be written
+     */
+    public MemberJsonWriter(Writer out, boolean ndjson) throws IOException {
+        this.out = out;
+        this.ndjson = ndjson;
+        if (!ndjson) {
+            out.write('[');
+        }
+    }
+
+    /**
+     * Writes one member as a JSON object.
+     *
+     * @param member The member to write
+     * @throws IOException if writing fails
+     */
+    public void write(Member member) throws IOException {
+        if (!ndjson) {
+            out.write(written == 0 ? "\n" : ",\n");
+        }
+
+        out.write("{\"type\":\"");
+        out.write(member instanceof PTMember ? "PT" : "REGULAR");
+        out.write("\",\"id\":");
+        writeString(member.getId());
+        out.write(",\"name\":");
+        writeString(member.getName());
+        out.write(",\"age\":");
+        writeLong(member.getAge());
+        out.write(",\"baseFee\":");
+        out.write(Double.toString(member.getBaseFee()));
+        out.write(",\"performanceRating\":");
+        writeLong(member.getPerformanceRating());
+        out.write(",\"achievedGoal\":");
+        out.write(member.isAchievedGoal() ? "true" : "false");
+        if (member instanceof PTMember) {
+            out.write(",\"trainerFee\":");
+            out.write(Double.toString(((PTMember) member).getTrainerFee()));
+        }
+        RatingHistory history = member.getRatingHistory();
+        if (!history.isEmpty()) {
+            out.write(",\"ratingHistory\":[");
+            for (int i = 0; i < history.size(); i++) {
+                out.write(i == 0 ? "[" : ",[");
+                writeLong(history.getRating(i));
+                out.write(',');
+                writeLong(history.getTimestamp(i));
+                out.write(']');
+            }
+            out.write(']');
+        }
+        out.write('}');
+
+        if (ndjson) {
+            out.write('\n');
+        }
+        written++;
+    }
+
+    /**
+     * Returns the number of members written so far.
+     *
+     * @return Member count
+     */
+    public int getWrittenCount() {
+        return written;
+    }
+
+    private void writeString(String s) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            out.write(s, start, i - start);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    out.write("\\u00");
+                    out.write(HEX[c >> 4]);
+                    out.write(HEX[c & 0xF]);
+            }
+        }
+        out.write(s, start, s.length() - start);
+        out.write('"');
+    }
+
+    private void writeLong(long value) throws IOException {
+        long v = value;
+        if (v == Long.MIN_VALUE) {
+            out.write(Long.toString(v));
+            return;
+        }
+        if (v < 0) {
+            out.write('-');
+            v = -v;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        out.write(digits, pos, digits.length - pos);
+    }
+
+    /**
+     * Finishes the JSON document and closes the underlying Writer.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!ndjson) {
+                out.write(written == 0 ? "]\n" : "\n]\n");
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
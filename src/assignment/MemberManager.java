@@ -2,20 +2,89 @@ package assignment;
 
 import java.io.*;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Manages all member operations including CRUD operations and file I/O.
- * Utilizes ArrayList for efficient random access and iteration.
  * Demonstrates exception handling for file operations and data validation.
  * 
+ * Members are kept in a persistent (copy-on-write) vector. Changes never
+ * modify a stored member; they store an updated copy in a new vector version.
+ * snapshot() therefore returns a consistent view in O(1), and reports,
+ * searches and saves iterate a snapshot without holding the manager's lock,
+ * so edits can continue while they run.
+ * 
+ * Changes synchronize on the manager so that a background load (see
+ * loadInBackground) can run while the user works with the data.
+ * 
+ * A manager can also serve as a read-only replica of another process, kept
+ * up to date by ReplicaClient (see ReplicationPrimary).
+ * 
  * @author [Your Group Members]
  * @version 1.0
  */
 public class MemberManager {
-    // Using ArrayList for efficient random access and simple operations
-    private List<Member> members;
+    static final String CSV_HEADER = "Type,ID,Name,Age,BaseFee,PerformanceRating,AchievedGoal,TrainerFee,RatingHistory";
+
+    // Empty slots are compacted once there are more of them than members
+    private static final int COMPACT_MIN_EMPTY_SLOTS = 1024;
+
+    // Current version of the member list; replaced, never modified, on change
+    private volatile MemberVector members = MemberVector.EMPTY;
+    // Vector slot by lower-cased ID for constant-time lookups
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    // Type-ahead index over IDs and names
+    private final MemberPrefixIndex prefixIndex = new MemberPrefixIndex();
+    // Edit-distance index over names
+    private final MemberFuzzyIndex fuzzyIndex = new MemberFuzzyIndex();
+    // Type, goal and rating-band bitmaps over vector slots
+    private final MemberBitmapIndex bitmapIndex = new MemberBitmapIndex();
     private String filePath;
+    // When false, per-member confirmation messages are suppressed (batch mode)
+    private boolean verbose = true;
+    // When true, every load ends with a duplicate-member check
+    private volatile boolean checkDuplicatesOnLoad;
+    // Set on replicas: members change only through replication
+    private volatile boolean readOnly;
+    // Records rejected and blocks damaged when the data file was last loaded;
+    // while non-zero, saving over the file needs confirmOverwrite()
+    private volatile int loadProblems;
+    private volatile boolean overwriteConfirmed;
+    // Serializes saves with syncFromFile, so a sync never reads a half-written save
+    private final Object fileLock = new Object();
+    // Last version of the data file that this manager wrote or read, guarded by fileLock
+    private FileTime knownFileTime;
+    private long knownFileSize = -1;
+    // Hash of every record by ID key as the data file was last loaded, saved or
+    // synced; tells external edits of the file from unsaved edits in memory
+    private volatile Map<String, Long> fileRecords = new HashMap<>();
+    // Running aggregates updated on every change
+    private final MemberStats stats = new MemberStats();
+    // Change feed for indexes, caches and other downstream consumers
+    private final MemberEventBus events = new MemberEventBus(8192);
+
+    // Every live manager, so new fee rules rebuild the statistics of all of them
+    private static final Set<MemberManager> MANAGERS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    // Serializes installs of fee rules with the rebuilds that follow them
+    private static final Object FEE_RULES_LOCK = new Object();
+
+    // Background loading state, guarded by this manager's monitor
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private boolean loading;
+    // IDs the ID scan found in the file that are not parsed yet
+    private Set<String> pendingIds;
+    // Whether the ID scan has read the whole file; until then any unparsed ID may be in it
+    private boolean idScanDone;
+    private boolean idScanRunning;
+    // Callers waiting for the ID scan; the loader pauses meanwhile so the scan finishes sooner
+    private int idScanWaiters;
+    private final AtomicLong loadBytesRead = new AtomicLong();
+    private volatile long loadBytesTotal;
 
     /**
      * Constructor initializes the member manager with a file path.
@@ -23,8 +92,8 @@ public class MemberManager {
      * @param filePath Path to the CSV file for data persistence
      */
     public MemberManager(String filePath) {
-        this.members = new ArrayList<>();
         this.filePath = filePath;
+        MANAGERS.add(this);
     }
 
     /**
@@ -33,7 +102,8 @@ public class MemberManager {
      * @param member The member to add
      * @throws IllegalArgumentException if member is null or ID already exists
      */
-    public void addMember(Member member) {
+    public synchronized void addMember(Member member) {
+        requireWritable();
         if (member == null) {
             throw new IllegalArgumentException("Cannot add null member");
         }
@@ -42,27 +112,53 @@ public class MemberManager {
             throw new IllegalArgumentException("Member with ID " + member.getId() + " already exists");
         }
 
-        members.add(member);
-        System.out.println("✓ Member added successfully: " + member.getName());
+        // The caller keeps its instance; later changes to it must not reach snapshots or listeners
+        Member stored = member.copy();
+        insert(stored);
+        events.publish(MemberEvent.Type.ADD, null, stored.copy(), 1);
+        if (verbose) {
+            System.out.println("✓ Member added successfully: " + member.getName());
+        }
     }
 
     /**
      * Retrieves a member by their unique ID.
+     * The returned member is shared with snapshots and must not be modified;
+     * use updateMember to change it.
      * 
      * @param id The member ID to search for
      * @return The member object if found, null otherwise
      */
-    public Member getById(String id) {
+    public synchronized Member getById(String id) {
         if (id == null || id.trim().isEmpty()) {
             return null;
         }
 
-        for (Member member : members) {
-            if (member.getId().equalsIgnoreCase(id.trim())) {
-                return member;
+        // During a background load, wait only if this ID is still to be loaded
+        String key = idKey(id);
+        Integer slot = slotsById.get(key);
+        while (slot == null && isPending(key)) {
+            boolean scanWait = !pendingIds.contains(key);
+            if (scanWait) {
+                idScanWaiters++;
             }
+            try {
+                waitForLoader();
+            } finally {
+                if (scanWait) {
+                    idScanWaiters--;
+                }
+            }
+            slot = slotsById.get(key);
         }
-        return null;
+        return slot == null ? null : members.get(slot);
+    }
+
+    /**
+     * Normalizes an ID for the case-insensitive lookup index.
+     */
+    static String idKey(String id) {
+        return id.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -71,16 +167,190 @@ public class MemberManager {
      * @param id The ID of the member to delete
      * @return true if member was deleted, false otherwise
      */
-    public boolean deleteById(String id) {
+    public synchronized boolean deleteById(String id) {
+        requireWritable();
         if (id == null || id.trim().isEmpty()) {
             return false;
         }
 
-        boolean removed = members.removeIf(m -> m.getId().equalsIgnoreCase(id.trim()));
-        if (removed) {
+        Member member = getById(id);
+        if (member == null) {
+            return false;
+        }
+
+        remove(member);
+        events.publish(MemberEvent.Type.DELETE, member, null, 1);
+        if (verbose) {
             System.out.println("✓ Member deleted successfully");
         }
-        return removed;
+        return true;
+    }
+
+    /**
+     * Applies a change to an existing member.
+     * The change is applied to a copy of the member, which then replaces the
+     * original; snapshots taken earlier keep the old values. The running
+     * statistics are updated and an UPDATE event with the old and new values
+     * is published.
+     * 
+     * @param id     The ID of the member to update
+     * @param change The modification to apply (e.g. a setter call)
+     * @throws IllegalArgumentException if no member exists with the given ID
+     */
+    public synchronized void updateMember(String id, Consumer<Member> change) {
+        requireWritable();
+        Member member = getById(id);
+        if (member == null) {
+            throw new IllegalArgumentException("Member not found with ID: " + id);
+        }
+
+        // A failed change leaves the stored member untouched
+        Member updated = member.copy();
+        change.accept(updated);
+        replace(member, updated);
+        events.publish(MemberEvent.Type.UPDATE, member, updated, 1);
+    }
+
+    /**
+     * Returns a consistent, read-only view of all members in O(1).
+     * The snapshot is not affected by later changes.
+     * 
+     * @return Snapshot of the current members
+     */
+    public synchronized MemberSnapshot snapshot() {
+        return new MemberSnapshot(members, events.getLastSequence());
+    }
+
+    /**
+     * Returns a snapshot once any background load has finished.
+     */
+    private MemberSnapshot loadedSnapshot() {
+        awaitLoaded();
+        return snapshot();
+    }
+
+    /**
+     * Appends a member unless its ID is already taken.
+     * 
+     * @param member The member to store
+     * @return true if the member was stored
+     */
+    private boolean insert(Member member) {
+        String key = idKey(member.getId());
+        int slot = members.slotCount();
+        if (slotsById.putIfAbsent(key, slot) != null) {
+            return false;
+        }
+        members = members.append(member);
+        bitmapIndex.add(slot, member);
+        stats.add(member);
+        prefixIndex.add(member);
+        fuzzyIndex.add(member);
+        return true;
+    }
+
+    /**
+     * Puts an updated copy of a member in the original's slot.
+     */
+    private void replace(Member original, Member updated) {
+        int slot = slotsById.get(idKey(original.getId()));
+        members = members.set(slot, updated);
+        bitmapIndex.remove(slot, original);
+        bitmapIndex.add(slot, updated);
+        stats.remove(original);
+        stats.add(updated);
+        prefixIndex.remove(original);
+        prefixIndex.add(updated);
+        // The fuzzy index holds names only
+        if (!original.getName().equals(updated.getName())) {
+            fuzzyIndex.remove(original);
+            fuzzyIndex.add(updated);
+        }
+    }
+
+    /**
+     * Empties a member's slot, compacting the vector when empty slots pile up.
+     */
+    private void remove(Member member) {
+        int slot = slotsById.remove(idKey(member.getId()));
+        members = members.set(slot, null);
+        bitmapIndex.remove(slot, member);
+        stats.remove(member);
+        prefixIndex.remove(member);
+        fuzzyIndex.remove(member);
+
+        int emptySlots = members.slotCount() - members.size();
+        if (emptySlots > COMPACT_MIN_EMPTY_SLOTS && emptySlots > members.size()) {
+            members = members.compact();
+            slotsById.clear();
+            int index = 0;
+            for (Member m : new MemberSnapshot(members, 0)) {
+                slotsById.put(idKey(m.getId()), index++);
+            }
+            bitmapIndex.rebuild(members);
+        }
+    }
+
+    /**
+     * Removes all members.
+     */
+    private void clearMembers() {
+        members = MemberVector.EMPTY;
+        slotsById.clear();
+        bitmapIndex.clear();
+        stats.clear();
+        prefixIndex.clear();
+        fuzzyIndex.clear();
+    }
+
+    /**
+     * Rejects changes on a read-only replica.
+     *
+     * @throws IllegalStateException if this manager is a replica
+     */
+    private void requireWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("This is a read-only replica; make changes on the primary");
+        }
+    }
+
+    /**
+     * Replaces all members with a snapshot received from the primary.
+     *
+     * @param replica Members of the primary, in its slot order
+     */
+    synchronized void installReplica(List<Member> replica) {
+        clearMembers();
+        for (Member member : replica) {
+            insert(member);
+        }
+        events.publish(MemberEvent.Type.BULK_LOAD, null, null, members.size());
+    }
+
+    /**
+     * Applies a change received from the primary. Adds and updates are
+     * applied as upserts, so a change that overlaps the snapshot it follows
+     * is harmless.
+     *
+     * @param type   Kind of change on the primary
+     * @param member New member version, or the deleted member for DELETE
+     */
+    synchronized void applyReplicated(MemberEvent.Type type, Member member) {
+        Integer slot = slotsById.get(idKey(member.getId()));
+        Member current = slot == null ? null : members.get(slot);
+
+        if (type == MemberEvent.Type.DELETE) {
+            if (current != null) {
+                remove(current);
+                events.publish(MemberEvent.Type.DELETE, current, null, 1);
+            }
+        } else if (current == null) {
+            insert(member);
+            events.publish(MemberEvent.Type.ADD, null, member.copy(), 1);
+        } else {
+            replace(current, member);
+            events.publish(MemberEvent.Type.UPDATE, current, member, 1);
+        }
     }
 
     /**
@@ -90,6 +360,7 @@ public class MemberManager {
      * @return List of matching members
      */
     public List<Member> searchByName(String query) {
+        MemberSnapshot snapshot = loadedSnapshot();
         List<Member> results = new ArrayList<>();
 
         if (query == null || query.trim().isEmpty()) {
@@ -97,7 +368,7 @@ public class MemberManager {
         }
 
         String lowerQuery = query.toLowerCase().trim();
-        for (Member member : members) {
+        for (Member member : snapshot) {
             if (member.getName().toLowerCase().contains(lowerQuery)) {
                 results.add(member);
             }
@@ -105,6 +376,94 @@ public class MemberManager {
         return results;
     }
 
+    /**
+     * Type-ahead search: finds members whose ID, full name or any word of
+     * their name starts with the given text (case-insensitive). Uses the
+     * prefix index, so it is fast enough to run on every keystroke.
+     * 
+     * @param prefix Text typed so far
+     * @param limit  Maximum number of suggestions
+     * @param rank   RATING for best-rated first, RECENCY for most recently
+     *               added or changed first
+     * @return Up to limit matching members, best first
+     */
+    public synchronized List<Member> searchByPrefix(String prefix, int limit, MemberPrefixIndex.Rank rank) {
+        awaitLoaded();
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return prefixIndex.complete(prefix, limit, rank);
+    }
+
+    /**
+     * Fuzzy name search: finds members whose full name, or the part of it
+     * from any word on, is within a small edit distance of the query, so
+     * misspelled names still match. Uses the BK-tree name index.
+     * 
+     * @param query       Name or surname to look for
+     * @param maxDistance Maximum number of single-letter edits (1-2)
+     * @param limit       Maximum number of results
+     * @return Matches ranked by distance, then by rating
+     * @throws IllegalArgumentException if maxDistance is not 1 or 2
+     */
+    public synchronized List<Member> searchByNameFuzzy(String query, int maxDistance, int limit) {
+        if (maxDistance < 1 || maxDistance > 2) {
+            throw new IllegalArgumentException("Maximum edit distance must be 1 or 2");
+        }
+        awaitLoaded();
+        List<Member> results = new ArrayList<>();
+        if (query == null || query.trim().isEmpty()) {
+            return results;
+        }
+
+        // Terms come nearest first; each term's members come best-rated first
+        Set<Member> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<MemberFuzzyIndex.Match> matches = fuzzyIndex.search(query.trim().toLowerCase(Locale.ROOT), maxDistance);
+        int from = 0;
+        while (from < matches.size() && results.size() < limit) {
+            int distance = matches.get(from).distance;
+            List<Member> level = new ArrayList<>();
+            for (; from < matches.size() && matches.get(from).distance == distance; from++) {
+                level.addAll(prefixIndex.exact(matches.get(from).term, limit, MemberPrefixIndex.Rank.RATING));
+            }
+            level.sort((a, b) -> Integer.compare(b.getPerformanceRating(), a.getPerformanceRating()));
+            for (Member member : level) {
+                if (results.size() < limit && seen.add(member)) {
+                    results.add(member);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Finds the members that match a filter on type, goal status and rating.
+     * The filter is answered from bitmap indexes without examining members.
+     * 
+     * @param filter The condition to match
+     * @param limit  Maximum number of members to return
+     * @return Matching members in insertion order
+     */
+    public synchronized List<Member> filter(MemberFilter filter, int limit) {
+        awaitLoaded();
+        List<Member> results = new ArrayList<>();
+        for (int slot : filter.evaluate(bitmapIndex).toArray(limit)) {
+            results.add(members.get(slot));
+        }
+        return results;
+    }
+
+    /**
+     * Counts the members that match a filter, from the bitmap indexes alone.
+     * 
+     * @param filter The condition to match
+     * @return Number of matching members
+     */
+    public synchronized int count(MemberFilter filter) {
+        awaitLoaded();
+        return filter.evaluate(bitmapIndex).cardinality();
+    }
+
     /**
      * Searches for members within a performance rating range.
      * 
@@ -113,6 +472,7 @@ public class MemberManager {
      * @return List of matching members
      */
     public List<Member> searchByPerformance(int minRating, int maxRating) {
+        MemberSnapshot snapshot = loadedSnapshot();
         List<Member> results = new ArrayList<>();
 
         if (minRating < 0 || maxRating > 100 || minRating > maxRating) {
@@ -120,7 +480,7 @@ public class MemberManager {
             return results;
         }
 
-        for (Member member : members) {
+        for (Member member : snapshot) {
             int rating = member.getPerformanceRating();
             if (rating >= minRating && rating <= maxRating) {
                 results.add(member);
@@ -129,22 +489,45 @@ public class MemberManager {
         return results;
     }
 
+    /**
+     * Finds members whose rating dropped by more than a threshold within
+     * their most recent rating updates.
+     * 
+     * @param minDrop Drop in rating points that must be exceeded
+     * @param updates Number of most recent updates to look back over
+     * @return Matching members, largest drop first
+     */
+    public List<Member> findDecliningMembers(int minDrop, int updates) {
+        MemberSnapshot snapshot = loadedSnapshot();
+        List<Member> results = new ArrayList<>();
+
+        for (Member member : snapshot) {
+            if (member.getRatingHistory().getDrop(updates) > minDrop) {
+                results.add(member);
+            }
+        }
+        results.sort((a, b) -> Integer.compare(
+                b.getRatingHistory().getDrop(updates), a.getRatingHistory().getDrop(updates)));
+        return results;
+    }
+
     /**
      * Prints all members in the system with their calculated fees.
      */
     public void printAllMembers() {
-        if (members.isEmpty()) {
+        MemberSnapshot snapshot = loadedSnapshot();
+        if (snapshot.isEmpty()) {
             System.out.println("\n⚠ No members in the system.");
             return;
         }
 
         System.out.println("\n═══════════════════════════════════════════════════════════");
-        System.out.println("                    ALL MEMBERS (" + members.size() + ")");
+        System.out.println("                    ALL MEMBERS (" + snapshot.size() + ")");
         System.out.println("═══════════════════════════════════════════════════════════");
 
-        for (int i = 0; i < members.size(); i++) {
-            Member member = members.get(i);
-            System.out.printf("%d. %s\n", (i + 1), member);
+        int i = 0;
+        for (Member member : snapshot) {
+            System.out.printf("%d. %s\n", ++i, member);
             System.out.printf("   Monthly Fee: $%.2f\n", member.calculateFee());
             System.out.println("───────────────────────────────────────────────────────────");
         }
@@ -152,197 +535,1345 @@ public class MemberManager {
 
     /**
      * Saves all member data to the CSV file.
+     * Writes a snapshot, so members can be edited while the save runs.
      * Demonstrates exception handling for file operations.
+     * 
+     * If records of the file were rejected when it was loaded, the file is
+     * not overwritten (which would drop them) until confirmOverwrite() is
+     * called; the old file is then kept as "file.bak".
+     * 
+     * @return true if the file was written
      */
-    public void saveToFile() {
-        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(filePath))) {
-            // Write header
-            writer.write("Type,ID,Name,Age,BaseFee,PerformanceRating,AchievedGoal,TrainerFee");
-            writer.newLine();
-
-            // Write member data
-            for (Member member : members) {
-                if (member instanceof PTMember) {
-                    writer.write(((PTMember) member).toCSV());
-                } else {
-                    writer.write(((RegularMember) member).toCSV());
-                }
-                writer.newLine();
+    public boolean saveToFile() {
+        requireWritable();
+        // Never write a partially loaded member list over the file
+        MemberSnapshot snapshot = loadedSnapshot();
+        Path path = Path.of(filePath);
+        synchronized (fileLock) {
+            int problems = loadProblems;
+            if (problems > 0 && !overwriteConfirmed) {
+                System.err.println("✗ Not saved: " + problems + " record(s) or block(s) of " + filePath
+                        + " could not be loaded (see " + quarantinePath() + ") and would be lost."
+                        + " Confirm the overwrite to save anyway.");
+                return false;
             }
+            try {
+                if (problems > 0 && Files.exists(path)) {
+                    Files.copy(path, Path.of(filePath + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+                    System.out.println("✓ Previous file kept as " + filePath + ".bak");
+                }
+                Map<String, Long> written = new HashMap<>();
+                try (MemberCsvWriter writer = new MemberCsvWriter(MemberFileIO.newOutputStream(path))) {
+                    // Write header
+                    writer.writeHeader();
+                    writer.enableChecksums();
 
-            System.out.println("✓ Data saved successfully to " + filePath);
-        } catch (IOException e) {
-            System.err.println("✗ Error saving file: " + e.getMessage());
-            System.err.println("Please check file permissions and disk space.");
-        } catch (Exception e) {
-            System.err.println("✗ Unexpected error during save: " + e.getMessage());
+                    // Write member data
+                    for (Member member : snapshot) {
+                        writer.write(member);
+                        written.put(idKey(member.getId()), recordHash(member));
+                    }
+                }
+                // A file watcher must not apply our own save back
+                rememberFileVersion(path);
+                fileRecords = written;
+                loadProblems = 0;
+                overwriteConfirmed = false;
+
+                System.out.println("✓ Data saved successfully to " + filePath);
+                return true;
+            } catch (IOException e) {
+                System.err.println("✗ Error saving file: " + e.getMessage());
+                System.err.println("Please check file permissions and disk space.");
+            } catch (Exception e) {
+                System.err.println("✗ Unexpected error during save: " + e.getMessage());
+            }
+            return false;
         }
     }
 
     /**
-     * Loads member data from the CSV file.
-     * Demonstrates exception handling for file operations and data parsing.
+     * Records the data file's modification time and size as a version whose
+     * contents are already known. Called with fileLock held.
+     */
+    private void rememberFileVersion(Path path) throws IOException {
+        knownFileTime = Files.getLastModifiedTime(path);
+        knownFileSize = Files.size(path);
+    }
+
+    /**
+     * Applies changes that another program made to the data file, without
+     * reloading everything: the file is compared by ID with its contents as
+     * this manager last loaded, saved or synced it, and only the members whose
+     * records were added, changed or removed in the file are applied, each
+     * with its own change event. Versions of the file written or read by this
+     * manager are ignored.
+     * 
+     * Members added, edited or deleted in memory and not saved yet are kept.
+     * If the file changed such a member too, the file's version is skipped
+     * with a warning instead of overwriting the unsaved change.
+     * 
+     * The file is parsed and compared without holding the manager's lock;
+     * the lock is taken only to apply the differences. Lines without a
+     * checksum are read as plain records, since editors cannot write them.
+     * If the file has lines that cannot be parsed (for example because it is
+     * still being written) or whose checksum is wrong, nothing is applied.
+     * 
+     * @return Number of members added, changed or removed
      */
-    public void loadFromFile() {
-        members.clear();
+    public int syncFromFile() {
+        requireWritable();
+        awaitLoaded();
         Path path = Path.of(filePath);
 
-        if (!Files.exists(path)) {
-            System.out.println("⚠ File not found: " + filePath);
-            System.out.println("Creating new empty file...");
-            ensureSampleData();
-            return;
-        }
+        synchronized (fileLock) {
+            Map<String, Member> fileMembers = new HashMap<>();
+            try {
+                FileTime modified = Files.getLastModifiedTime(path);
+                long size = Files.size(path);
+                if (modified.equals(knownFileTime) && size == knownFileSize) {
+                    return 0;
+                }
+                int errors = readMembers(path, fileMembers);
+                if (errors > 0) {
+                    System.err.println("⚠ " + filePath + " changed but has " + errors
+                            + " invalid line(s); changes not applied");
+                    return 0;
+                }
+                knownFileTime = modified;
+                knownFileSize = size;
+            } catch (NoSuchFileException e) {
+                // Deleted or being replaced; the next change event brings the new file
+                return 0;
+            } catch (IOException e) {
+                System.err.println("✗ Error reading file: " + e.getMessage());
+                return 0;
+            }
 
-        try (BufferedReader reader = Files.newBufferedReader(path)) {
-            String line;
-            int lineNumber = 0;
+            Map<String, Long> records = new HashMap<>();
+            for (Map.Entry<String, Member> entry : fileMembers.entrySet()) {
+                records.put(entry.getKey(), recordHash(entry.getValue()));
+            }
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
+            while (true) {
+                // Compare against a snapshot, then apply only if nothing changed meanwhile
+                MemberSnapshot snapshot = snapshot();
+                Map<String, Long> known = fileRecords;
+                Map<String, Member> current = new HashMap<>();
+                for (Member member : snapshot) {
+                    current.put(idKey(member.getId()), member);
+                }
+                List<Member> added = new ArrayList<>();
+                List<Member> changed = new ArrayList<>();
+                List<Member> removed = new ArrayList<>();
+                List<String> conflicts = new ArrayList<>();
 
-                // Skip empty lines and header
-                if (line.trim().isEmpty() || lineNumber == 1) {
-                    continue;
+                for (Map.Entry<String, Member> entry : fileMembers.entrySet()) {
+                    String key = entry.getKey();
+                    Long before = known.get(key);
+                    long after = records.get(key);
+                    if (before != null && before == after) {
+                        continue; // not changed in the file
+                    }
+                    Member local = current.get(key);
+                    if (local != null && recordHash(local) == after) {
+                        continue; // memory already has the file's version
+                    }
+                    if (hasUnsavedChange(local, before)) {
+                        conflicts.add(entry.getValue().getId());
+                    } else if (local == null) {
+                        added.add(entry.getValue());
+                    } else {
+                        changed.add(entry.getValue());
+                    }
+                }
+                for (Map.Entry<String, Long> entry : known.entrySet()) {
+                    if (fileMembers.containsKey(entry.getKey())) {
+                        continue;
+                    }
+                    // Removed from the file
+                    Member local = current.get(entry.getKey());
+                    if (local == null) {
+                        continue;
+                    }
+                    if (hasUnsavedChange(local, entry.getValue())) {
+                        conflicts.add(local.getId());
+                    } else {
+                        removed.add(local);
+                    }
                 }
 
-                try {
-                    parseMemberFromCSV(line);
-                } catch (Exception e) {
-                    System.err.println("⚠ Error parsing line " + lineNumber + ": " + e.getMessage());
+                synchronized (this) {
+                    if (events.getLastSequence() != snapshot.getSequence()) {
+                        continue;
+                    }
+                    for (Member member : removed) {
+                        remove(member);
+                        events.publish(MemberEvent.Type.DELETE, member, null, 1);
+                    }
+                    for (Member member : changed) {
+                        Member original = members.get(slotsById.get(idKey(member.getId())));
+                        replace(original, member);
+                        events.publish(MemberEvent.Type.UPDATE, original, member, 1);
+                    }
+                    for (Member member : added) {
+                        insert(member);
+                        events.publish(MemberEvent.Type.ADD, null, member.copy(), 1);
+                    }
+                    fileRecords = records;
                 }
+                int total = added.size() + changed.size() + removed.size();
+                if (total > 0) {
+                    System.out.printf("✓ Applied external changes to %s: %d added, %d changed, %d removed%n",
+                            filePath, added.size(), changed.size(), removed.size());
+                }
+                if (!conflicts.isEmpty()) {
+                    System.err.println("⚠ " + conflicts.size() + " member(s) changed in " + filePath
+                            + " have unsaved changes here; kept the unsaved version of "
+                            + String.join(", ", conflicts.subList(0, Math.min(5, conflicts.size())))
+                            + (conflicts.size() > 5 ? ", ..." : ""));
+                }
+                return total;
             }
-
-            System.out.println("✓ Loaded " + members.size() + " members from file");
-        } catch (IOException e) {
-            System.err.println("✗ Error reading file: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("✗ Unexpected error during load: " + e.getMessage());
         }
     }
 
     /**
-     * Parses a CSV line and creates the appropriate Member object.
+     * Checks whether a member differs from its record in the data file as
+     * last known, i.e. was added, edited or deleted in memory since.
      * 
-     * @param line CSV line to parse
-     * @throws IllegalArgumentException if line format is invalid
+     * @param local  The member in memory, or null if there is none
+     * @param record Hash of the known record, or null if the file had none
      */
-    private void parseMemberFromCSV(String line) {
-        String[] parts = line.split(",");
-
-        if (parts.length < 7) {
-            throw new IllegalArgumentException("Invalid CSV format - insufficient fields");
+    private static boolean hasUnsavedChange(Member local, Long record) {
+        if (local == null || record == null) {
+            return local != null || record != null;
         }
+        return recordHash(local) != record;
+    }
 
-        String type = parts[0].trim();
-        String id = parts[1].trim();
-        String name = parts[2].trim();
-        int age = Integer.parseInt(parts[3].trim());
-        double baseFee = Double.parseDouble(parts[4].trim());
-        int performanceRating = Integer.parseInt(parts[5].trim());
-        boolean achievedGoal = Boolean.parseBoolean(parts[6].trim());
-
-        Member member;
+    /**
+     * Hashes a member's values at the precision of the data file: text as
+     * written, fees in cents as written and the rating history.
+     */
+    private static long recordHash(Member member) {
+        long hash = 0xcbf29ce484222325L;
+        hash = hashText(hash, member.getClass().getSimpleName());
+        hash = hashText(hash, member.getId().replace(",", ";").trim());
+        hash = hashText(hash, member.getName().replace(",", ";").trim());
+        hash = hashLong(hash, member.getAge());
+        hash = hashLong(hash, MemberCsvWriter.fileCents(member.getBaseFee()));
+        hash = hashLong(hash, member.getPerformanceRating());
+        hash = hashLong(hash, member.isAchievedGoal() ? 1 : 0);
+        if (member instanceof PTMember) {
+            hash = hashLong(hash, MemberCsvWriter.fileCents(((PTMember) member).getTrainerFee()));
+        }
+        RatingHistory history = member.getRatingHistory();
+        for (int i = 0; i < history.size(); i++) {
+            hash = hashLong(hash, history.getRating(i));
+            hash = hashLong(hash, history.getTimestamp(i));
+        }
+        return hash;
+    }
 
-        if (type.equalsIgnoreCase("PT")) {
-            if (parts.length < 8) {
-                throw new IllegalArgumentException("PT member missing trainer fee");
-            }
-            double trainerFee = Double.parseDouble(parts[7].trim());
-            member = PTMember.fromCSVParts(id, name, age, baseFee,
-                    performanceRating, achievedGoal, trainerFee);
-        } else {
-            member = RegularMember.fromCSV(id, name, age, baseFee,
-                    performanceRating, achievedGoal);
+    // 64-bit FNV-1a over characters and over the bytes of numbers
+    private static long hashText(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
         }
+        return hashLong(hash, text.length());
+    }
 
-        members.add(member);
+    private static long hashLong(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xff)) * 0x100000001b3L;
+            value >>>= 8;
+        }
+        return hash;
     }
 
     /**
-     * Issues reminder letters to members with low performance ratings.
+     * Parses every member in a data file into a map by ID key. Block markers
+     * are not held against an edited file: removing or adding lines is how
+     * members are removed or added.
      * 
-     * @param maxRating Maximum performance rating to receive reminder
+     * @return Number of records rejected: unparseable, with a wrong checksum or with a repeated ID
      */
-    public void issueReminderLetters(int maxRating) {
-        System.out.println("\n ISSUING REMINDER LETTERS ");
-        int count = 0;
-
-        for (Member member : members) {
-            if (member.getPerformanceRating() <= maxRating) {
-                System.out.printf("📧 Reminder sent to: %s (Rating: %d)\n",
-                        member.getName(), member.getPerformanceRating());
-                count++;
+    private static int readMembers(Path path, Map<String, Member> members) throws IOException {
+        int duplicates = 0;
+        try (BufferedReader reader = MemberFileIO.newReader(path)) {
+            MemberBlockReader records = new MemberBlockReader(reader, path.toString(), LOAD_BATCH_SIZE, 5);
+            records.ignoreBlockMarkers();
+            List<Member> batch;
+            while ((batch = records.nextBatch()) != null) {
+                for (Member member : batch) {
+                    if (members.putIfAbsent(idKey(member.getId()), member) != null && duplicates++ < 5) {
+                        System.err.println("⚠ Duplicate member ID " + member.getId());
+                    }
+                }
             }
+            return duplicates + records.getRejectedCount();
         }
-
-        System.out.println("Total reminders sent: " + count);
     }
 
     /**
-     * Issues appreciation letters to members with high performance ratings.
-     * 
-     * @param minRating Minimum performance rating to receive appreciation
+     * Checks whether two versions of a member have exactly the same values.
      */
-    public void issueAppreciationLetters(int minRating) {
-        System.out.println("\n ISSUING APPRECIATION LETTERS");
-        int count = 0;
+    private static boolean sameValues(Member a, Member b) {
+        if (a.getClass() != b.getClass()
+                || !a.getId().equals(b.getId())
+                || !a.getName().equals(b.getName())
+                || a.getAge() != b.getAge()
+                || Double.compare(a.getBaseFee(), b.getBaseFee()) != 0
+                || a.getPerformanceRating() != b.getPerformanceRating()
+                || a.isAchievedGoal() != b.isAchievedGoal()) {
+            return false;
+        }
+        if (a instanceof PTMember
+                && Double.compare(((PTMember) a).getTrainerFee(), ((PTMember) b).getTrainerFee()) != 0) {
+            return false;
+        }
+        return sameHistory(a.getRatingHistory(), b.getRatingHistory());
+    }
 
-        for (Member member : members) {
-            if (member.getPerformanceRating() >= minRating) {
-                System.out.printf("🎉 Appreciation sent to: %s (Rating: %d)\n",
-                        member.getName(), member.getPerformanceRating());
-                count++;
+    private static boolean sameHistory(RatingHistory a, RatingHistory b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.getRating(i) != b.getRating(i) || a.getTimestamp(i) != b.getTimestamp(i)) {
+                return false;
             }
         }
-
-        System.out.println("Total appreciations sent: " + count);
+        return true;
     }
 
     /**
-     * Awards discounts to high-performing members.
+     * Loads member data from the CSV file.
+     * Demonstrates exception handling for file operations and data parsing.
      * 
-     * @param minRating       Minimum performance rating to receive discount
-     * @param discountPercent Discount percentage to apply
+     * @return true if the file was read, or did not exist and an empty one was created
      */
-    public void awardDiscounts(int minRating, double discountPercent) {
-        System.out.println("\n═══ AWARDING DISCOUNTS ═══");
-        int count = 0;
+    public synchronized boolean loadFromFile() {
+        requireWritable();
+        awaitLoaded();
+        clearMembers();
+        Path path = Path.of(filePath);
 
-        for (Member member : members) {
-            if (member.getPerformanceRating() >= minRating) {
-                member.applyDiscountPercent(discountPercent);
-                System.out.printf("💰 %.1f%% discount awarded to: %s\n",
-                        discountPercent, member.getName());
-                count++;
-            }
+        if (!Files.exists(path)) {
+            System.out.println("⚠ File not found: " + filePath);
+            System.out.println("Creating new empty file...");
+            loadProblems = 0;
+            fileRecords = new HashMap<>();
+            ensureSampleData();
+            events.publish(MemberEvent.Type.BULK_LOAD, null, null, 0);
+            return Files.exists(path);
         }
 
-        System.out.println("Total discounts awarded: " + count);
+        try (BufferedReader reader = MemberFileIO.newReader(path)) {
+            // Bad records are skipped one by one; the rest of the file still loads
+            MemberBlockReader records = openRecords(reader);
+            Map<String, Long> loaded = new HashMap<>();
+            List<Member> batch;
+            while ((batch = records.nextBatch()) != null) {
+                for (Member member : batch) {
+                    if (insert(member)) {
+                        loaded.put(idKey(member.getId()), recordHash(member));
+                    } else {
+                        System.err.println("⚠ Skipping duplicate member ID " + member.getId());
+                    }
+                }
+            }
+            fileRecords = loaded;
+
+            events.publish(MemberEvent.Type.BULK_LOAD, null, null, members.size());
+            System.out.println("✓ Loaded " + members.size() + " members from file");
+            reportLoadProblems(records);
+            if (checkDuplicatesOnLoad) {
+                reportDuplicateCount();
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("✗ Error reading file: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("✗ Unexpected error during load: " + e.getMessage());
+        }
+        return false;
     }
 
     /**
-     * Creates a sample data file with predefined members if file doesn't exist.
+     * Starts loading member data in a background thread and returns at once.
+     * The loader parses records in batches while a second thread scans the
+     * file for member IDs only. While they run, getById answers at once for
+     * members already parsed and, as soon as the scan is done, for IDs that
+     * are not in the file, so adds of new members wait only for the scan.
+     * Only IDs that are in the file but not parsed yet block until their
+     * batch is loaded. Bulk operations (search, save, letters) wait for the
+     * load to finish.
      */
-    public void ensureSampleData() {
+    public synchronized void loadInBackground() {
+        requireWritable();
+        awaitLoaded();
         Path path = Path.of(filePath);
 
-        if (Files.exists(path)) {
+        if (!Files.exists(path)) {
+            loadFromFile();
             return;
         }
 
-        try {
-            // Create sample data with header
-            List<String> sampleData = Arrays.asList(
-                    "Type,ID,Name,Age,BaseFee,PerformanceRating,AchievedGoal,TrainerFee");
+        clearMembers();
+        loading = true;
+        pendingIds = new HashSet<>();
+        idScanDone = false;
+        idScanRunning = true;
+        loadBytesRead.set(0);
+        loadBytesTotal = 0;
 
-            Files.write(path, sampleData);
-            System.out.println("✓ Sample data file created: " + filePath);
+        Thread loader = new Thread(() -> runBackgroundLoad(path), "member-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Body of the background loader thread.
+     * 
+     * @param path The data file to load
+     */
+    private void runBackgroundLoad(Path path) {
+        try {
+            // The ID scan and the parse each read the whole file once
+            loadBytesTotal = 2 * Math.max(1, Files.size(path));
+            Set<String> pending;
+            synchronized (this) {
+                pending = pendingIds;
+            }
+            Thread scanner = new Thread(() -> runIdScan(path, pending), "member-id-scan");
+            scanner.setDaemon(true);
+            scanner.start();
+
+            try (BufferedReader reader = MemberFileIO.newReader(path, loadBytesRead)) {
+                MemberBlockReader records = openRecords(reader);
+                Map<String, Long> loaded = new HashMap<>();
+                List<Member> batch;
+                while ((batch = records.nextBatch()) != null) {
+                    // Hashed as read: members may be edited as soon as they are added
+                    for (Member member : batch) {
+                        loaded.putIfAbsent(idKey(member.getId()), recordHash(member));
+                    }
+                    addLoadedBatch(batch);
+                }
+                fileRecords = loaded;
+                reportLoadProblems(records);
+            }
+        } catch (IOException e) {
+            System.err.println("✗ Error reading file: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("✗ Unexpected error during load: " + e.getMessage());
+        } finally {
+            int loaded;
+            synchronized (this) {
+                loading = false;
+                pendingIds = null;
+                idScanDone = false;
+                idScanRunning = false;
+                loaded = members.size();
+                notifyAll();
+            }
+            events.publish(MemberEvent.Type.BULK_LOAD, null, null, loaded);
+            if (checkDuplicatesOnLoad) {
+                reportDuplicateCount();
+            }
+        }
+    }
+
+    /**
+     * Opens the data file's records for loading. Rejected lines are always
+     * copied to the quarantine file, so nothing is lost with them.
+     */
+    private MemberBlockReader openRecords(BufferedReader reader) throws IOException {
+        loadProblems = 0;
+        overwriteConfirmed = false;
+        MemberBlockReader records = new MemberBlockReader(reader, filePath, LOAD_BATCH_SIZE, 10);
+        records.setQuarantine(Path.of(quarantinePath()));
+        return records;
+    }
+
+    private String quarantinePath() {
+        return filePath + ".quarantine";
+    }
+
+    /**
+     * Remembers and reports the records and blocks a load could not read,
+     * so the file is not saved over them unnoticed.
+     */
+    private void reportLoadProblems(MemberBlockReader records) {
+        int rejected = records.getRejectedCount();
+        int damaged = records.getDamagedBlockCount();
+        loadProblems = rejected + damaged;
+        if (loadProblems > 0) {
+            System.out.println("⚠ " + rejected + " record(s) were skipped and " + damaged
+                    + " block(s) are damaged; details are in " + quarantinePath()
+                    + ". Saving will ask before overwriting " + filePath + ".");
+        }
+    }
+
+    /**
+     * Body of the ID scan thread: reads only the ID column of every record,
+     * without parsing members, and publishes the IDs in batches so lookups
+     * can tell early which IDs are still to come.
+     * 
+     * @param path    The data file to scan
+     * @param pending Pending ID set of the load this scan belongs to
+     */
+    private void runIdScan(Path path, Set<String> pending) {
+        List<String> ids = new ArrayList<>(LOAD_BATCH_SIZE);
+        try (BufferedReader reader = MemberFileIO.newReader(path, loadBytesRead)) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (RecordChecksums.isMarker(line)) {
+                    continue;
+                }
+                int start = line.indexOf(',');
+                int end = line.indexOf(',', start + 1);
+                if (start >= 0 && end > start) {
+                    ids.add(idKey(line.substring(start + 1, end)));
+                }
+                if (ids.size() == LOAD_BATCH_SIZE) {
+                    if (!addPendingIds(pending, ids, false)) {
+                        return;
+                    }
+                    ids.clear();
+                }
+            }
+            addPendingIds(pending, ids, true);
+        } catch (IOException e) {
+            // Without a complete scan, lookups of unparsed IDs wait for the load to end
+            System.err.println("✗ Error scanning member IDs: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                if (pendingIds == pending) {
+                    idScanRunning = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Records IDs found by the scan that the loader has not parsed yet.
+     * 
+     * @param pending Pending ID set of the scan's load
+     * @param ids     IDs found since the last call
+     * @param done    true when the scan has reached the end of the file
+     * @return false if that load has finished and the scan can stop
+     */
+    private synchronized boolean addPendingIds(Set<String> pending, List<String> ids, boolean done) {
+        if (pendingIds != pending) {
+            return false;
+        }
+        for (String key : ids) {
+            if (!slotsById.containsKey(key)) {
+                pendingIds.add(key);
+            }
+        }
+        idScanDone = done;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Adds a batch of parsed members and wakes threads waiting for their IDs.
+     * 
+     * @param batch Members parsed by the background loader
+     */
+    private synchronized void addLoadedBatch(List<Member> batch) {
+        while (idScanWaiters > 0 && idScanRunning) {
+            waitForLoader();
+        }
+        for (Member member : batch) {
+            if (!insert(member)) {
+                System.err.println("⚠ Skipping duplicate member ID " + member.getId());
+                continue;
+            }
+            pendingIds.remove(idKey(member.getId()));
+        }
+        notifyAll();
+    }
+
+    /**
+     * Checks whether an ID may still appear from the background load.
+     */
+    private boolean isPending(String key) {
+        return loading && (!idScanDone || pendingIds.contains(key));
+    }
+
+    /**
+     * Waits on the manager's monitor until the background loader makes progress.
+     */
+    private void waitForLoader() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for members to load");
+        }
+    }
+
+    /**
+     * Blocks until any background load has finished.
+     */
+    public synchronized void awaitLoaded() {
+        while (loading) {
+            waitForLoader();
+        }
+    }
+
+    /**
+     * Returns whether a background load is in progress.
+     * 
+     * @return true while members are still being loaded
+     */
+    public synchronized boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * Returns the progress of the background load.
+     * 
+     * @return Percentage of the load completed (0-100)
+     */
+    public int getLoadProgress() {
+        long total = loadBytesTotal;
+        if (total == 0) {
+            return 0;
+        }
+        return (int) Math.min(100, 100 * loadBytesRead.get() / total);
+    }
+
+    /**
+     * Parses a CSV line and creates the appropriate Member object.
+     * 
+     * @param line CSV line to parse
+     * @return The parsed member
+     * @throws IllegalArgumentException if line format is invalid
+     */
+    public static Member parseMemberFromCSV(String line) {
+        String[] parts = line.split(",");
+
+        if (parts.length < 7) {
+            throw new IllegalArgumentException("Invalid CSV format - insufficient fields");
+        }
+
+        String type = parts[0].trim();
+        String id = parts[1].trim();
+        String name = parts[2].trim();
+        int age = Integer.parseInt(parts[3].trim());
+        double baseFee = Double.parseDouble(parts[4].trim());
+        int performanceRating = Integer.parseInt(parts[5].trim());
+        boolean achievedGoal = Boolean.parseBoolean(parts[6].trim());
+
+        Member member;
+
+        if (type.equalsIgnoreCase("PT")) {
+            if (parts.length < 8) {
+                throw new IllegalArgumentException("PT member missing trainer fee");
+            }
+            double trainerFee = Double.parseDouble(parts[7].trim());
+            member = PTMember.fromCSVParts(id, name, age, baseFee,
+                    performanceRating, achievedGoal, trainerFee);
+        } else {
+            member = RegularMember.fromCSV(id, name, age, baseFee,
+                    performanceRating, achievedGoal);
+        }
+
+        // Optional rating history column after the (possibly empty) trainer fee
+        if (parts.length > 8 && !parts[8].trim().isEmpty()) {
+            member.setRatingHistory(RatingHistory.decode(parts[8]));
+        }
+
+        return member;
+    }
+
+    /**
+     * Converts a member to its CSV row.
+     * 
+     * @param member The member to convert
+     * @return CSV line without a line terminator
+     */
+    public static String toCSVLine(Member member) {
+        if (member instanceof PTMember) {
+            return ((PTMember) member).toCSV();
+        }
+        return ((RegularMember) member).toCSV();
+    }
+
+    /**
+     * Exports all members as JSON. Records are streamed to the file one at a
+     * time, and names are written exactly (no comma replacement as in CSV).
+     * 
+     * @param path   Destination file
+     * @param ndjson true for one object per line, false for a JSON array
+     * @return true if the file was written
+     */
+    public boolean exportToJson(String path, boolean ndjson) {
+        MemberSnapshot snapshot = loadedSnapshot();
+        try (MemberJsonWriter writer = new MemberJsonWriter(
+                MemberFileIO.newWriter(Path.of(path)), ndjson)) {
+            for (Member member : snapshot) {
+                writer.write(member);
+            }
+            System.out.println("✓ Exported " + writer.getWrittenCount() + " members to " + path);
+            return true;
+        } catch (IOException e) {
+            System.err.println("✗ Error exporting JSON: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Exports all members sorted by ID, name or monthly fee. The sort keeps
+     * at most MemberSorter.DEFAULT_RUN_SIZE members in memory besides the
+     * snapshot and spills sorted runs to temporary files next to the target.
+     * 
+     * @param path Destination file (CSV, JSON or NDJSON by extension)
+     * @param key  Sort order
+     * @return true if the file was written
+     */
+    public boolean exportSorted(String path, MemberSorter.Key key) {
+        MemberSnapshot snapshot = loadedSnapshot();
+        try {
+            int written = new MemberSorter(key, MemberSorter.DEFAULT_RUN_SIZE).sort(snapshot, path);
+            System.out.println("✓ Exported " + written + " members sorted by "
+                    + key.name().toLowerCase(Locale.ROOT) + " to " + path);
+            return true;
+        } catch (IOException e) {
+            System.err.println("✗ Error exporting sorted members: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Imports members from an NDJSON or JSON array file and adds them to the
+     * current members. Records are read one at a time. Malformed records and
+     * IDs that already exist are reported and skipped.
+     * 
+     * @param path Source file
+     * @return Number of members imported, or -1 if the file could not be read
+     *         (members read before the error stay imported)
+     */
+    public synchronized int importFromJson(String path) {
+        requireWritable();
+        awaitLoaded();
+        int imported = 0;
+        int skipped = 0;
+        boolean failed = false;
+
+        try (MemberJsonReader reader = new MemberJsonReader(MemberFileIO.newReader(Path.of(path)))) {
+            while (true) {
+                Member member;
+                try {
+                    member = reader.next();
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠ Error parsing " + e.getMessage());
+                    skipped++;
+                    continue;
+                }
+                if (member == null) {
+                    break;
+                }
+
+                if (!insert(member)) {
+                    skipped++;
+                    continue;
+                }
+                imported++;
+            }
+        } catch (IOException e) {
+            System.err.println("✗ Error reading JSON: " + e.getMessage());
+            failed = true;
+        }
+
+        events.publish(MemberEvent.Type.BULK_LOAD, null, null, imported);
+        System.out.println((failed ? "⚠" : "✓") + " Imported " + imported + " members from " + path
+                + (skipped > 0 ? " (" + skipped + " skipped)" : ""));
+        return failed ? -1 : imported;
+    }
+
+    /**
+     * Counts of a bulk upsert.
+     */
+    public static final class UpsertResult {
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int rejected;
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        public int getRejected() {
+            return rejected;
+        }
+    }
+
+    /**
+     * Applies a delta file of member changes in a single pass (see
+     * MemberDelta for the format). Each row is joined with the members by
+     * ID through the ID hash index: existing members are updated with the
+     * row's non-empty values and unknown IDs are added. Invalid rows are
+     * reported and skipped. Every insert publishes an ADD event and every
+     * row that changes a member an UPDATE event; rows that leave a member
+     * as it was are counted as unchanged and publish nothing.
+     * 
+     * @param path Delta CSV file (may be compressed)
+     * @return Numbers of members inserted, updated and unchanged and rows
+     *         rejected, or null if the file could not be read
+     */
+    public synchronized UpsertResult upsertFromFile(String path) {
+        requireWritable();
+        awaitLoaded();
+        UpsertResult result = new UpsertResult();
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = MemberFileIO.newReader(Path.of(path))) {
+            String header = reader.readLine();
+            if (header == null) {
+                System.err.println("✗ Delta file is empty: " + path);
+                return null;
+            }
+            MemberDelta delta = MemberDelta.fromHeader(header);
+
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    String[] cells = delta.split(line);
+                    Integer slot = slotsById.get(idKey(delta.id(cells)));
+                    if (slot == null) {
+                        Member member = delta.create(cells);
+                        insert(member);
+                        events.publish(MemberEvent.Type.ADD, null, member.copy(), 1);
+                        result.inserted++;
+                    } else {
+                        Member original = members.get(slot);
+                        // A failed row leaves the stored member untouched
+                        Member updated = original.copy();
+                        delta.update(cells, updated);
+                        if (sameValues(original, updated)) {
+                            result.unchanged++;
+                            continue;
+                        }
+                        replace(original, updated);
+                        events.publish(MemberEvent.Type.UPDATE, original, updated, 1);
+                        result.updated++;
+                    }
+                } catch (Exception e) {
+                    if (result.rejected++ < 20) {
+                        System.err.println("⚠ Error in delta line " + lineNumber + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Rows before the error stay applied; their events are published
+            System.err.println("✗ Error reading delta file: " + e.getMessage());
+            return null;
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ Invalid delta file header: " + e.getMessage());
+            return null;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("✓ Delta %s applied: %d inserted, %d updated, %d unchanged, %d rejected (%.2f s)%n",
+                path, result.inserted, result.updated, result.unchanged, result.rejected, seconds);
+        return result;
+    }
+
+    /**
+     * Converts a member file between CSV, JSON and NDJSON in constant memory,
+     * streaming one record at a time without loading members into a manager.
+     * The format of each file is chosen by its extension (.csv, .json,
+     * .ndjson or .jsonl), optionally followed by a compression extension.
+     * 
+     * @param source Input file
+     * @param target Output file
+     * @return Number of records converted
+     * @throws IOException if either file cannot be processed
+     */
+    public static int convertFile(String source, String target) throws IOException {
+        int converted = 0;
+        try (MemberFileReader in = new MemberFileReader(Path.of(source));
+                MemberFileWriter out = new MemberFileWriter(Path.of(target))) {
+            Member member;
+            while ((member = in.next()) != null) {
+                out.write(member);
+                converted++;
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * Reconciles two member files and writes the added, removed and changed
+     * members to a report (see MemberFileDiff). Neither file is loaded into
+     * a manager, so files larger than memory can be compared.
+     *
+     * @param left   Older file
+     * @param right  Newer file
+     * @param report Report file
+     * @return Counts of the differences, or null if the files could not be compared
+     */
+    public static MemberFileDiff.Summary diffFiles(String left, String right, String report) {
+        MemberFileDiff diff = new MemberFileDiff(MemberFileDiff.DEFAULT_PARTITIONS,
+                Runtime.getRuntime().availableProcessors());
+        MemberFileDiff.Summary summary;
+        try {
+            summary = diff.compare(left, right, report);
+        } catch (IOException e) {
+            System.err.println("✗ Error comparing member files: " + e.getMessage());
+            return null;
+        }
+
+        System.out.printf("✓ %d added, %d removed, %d changed, %d unchanged; report written to %s (%.2f s)%n",
+                summary.getAdded(), summary.getRemoved(), summary.getChanged(), summary.getUnchanged(),
+                report, summary.getElapsedSeconds());
+        if (summary.getDuplicates() > 0) {
+            System.out.println("⚠ " + summary.getDuplicates() + " records with a repeated ID were ignored");
+        }
+        return summary;
+    }
+
+    /**
+     * Checks the record and block checksums of a data file in parallel and
+     * prints the corrupt blocks (see MemberFileVerifier).
+     *
+     * @param path The data file to check
+     * @return The verification report, or null if the file could not be read
+     */
+    public static MemberFileVerifier.Report verifyFile(String path) {
+        MemberFileVerifier.Report report;
+        try {
+            report = new MemberFileVerifier(Runtime.getRuntime().availableProcessors()).verify(Path.of(path));
+        } catch (IOException e) {
+            System.err.println("✗ Error verifying file: " + e.getMessage());
+            return null;
+        }
+
+        if (!report.isChecksummed()) {
+            System.out.println("⚠ " + path + " has no checksums; save it to add them");
+        } else if (report.isClean()) {
+            System.out.printf("✓ %s: %d blocks, %d records verified (%.2f s)%n",
+                    path, report.getBlockCount(), report.getRecordCount(), report.getElapsedSeconds());
+        } else {
+            System.out.printf("✗ %s: %d of %d blocks corrupt (%.2f s)%n", path, report.getCorruptBlocks().size(),
+                    report.getBlockCount(), report.getElapsedSeconds());
+            for (MemberFileVerifier.CorruptBlock block : report.getCorruptBlocks()) {
+                System.out.println("   " + block);
+            }
+        }
+        if (report.getPlainRecordCount() > 0) {
+            System.out.println("⚠ " + report.getPlainRecordCount()
+                    + " record(s) have no checksum and were not checked; save the file to add them");
+        }
+        return report;
+    }
+
+    /**
+     * Issues reminder letters to members with low performance ratings.
+     * 
+     * @param maxRating Maximum performance rating to receive reminder
+     * @return Number of reminders sent
+     */
+    public int issueReminderLetters(int maxRating) {
+        MemberSnapshot snapshot = loadedSnapshot();
+        if (verbose) {
+            System.out.println("\n ISSUING REMINDER LETTERS ");
+        }
+        int count = 0;
+
+        for (Member member : snapshot) {
+            if (member.getPerformanceRating() <= maxRating) {
+                if (verbose) {
+                    System.out.printf("📧 Reminder sent to: %s (Rating: %d)\n",
+                            member.getName(), member.getPerformanceRating());
+                }
+                count++;
+            }
+        }
+
+        if (verbose) {
+            System.out.println("Total reminders sent: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Issues appreciation letters to members with high performance ratings.
+     * 
+     * @param minRating Minimum performance rating to receive appreciation
+     * @return Number of appreciations sent
+     */
+    public int issueAppreciationLetters(int minRating) {
+        MemberSnapshot snapshot = loadedSnapshot();
+        if (verbose) {
+            System.out.println("\n ISSUING APPRECIATION LETTERS");
+        }
+        int count = 0;
+
+        for (Member member : snapshot) {
+            if (member.getPerformanceRating() >= minRating) {
+                if (verbose) {
+                    System.out.printf("🎉 Appreciation sent to: %s (Rating: %d)\n",
+                            member.getName(), member.getPerformanceRating());
+                }
+                count++;
+            }
+        }
+
+        if (verbose) {
+            System.out.println("Total appreciations sent: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Awards discounts to high-performing members.
+     * 
+     * @param minRating       Minimum performance rating to receive discount
+     * @param discountPercent Discount percentage to apply
+     * @return Number of discounts awarded
+     */
+    public synchronized int awardDiscounts(int minRating, double discountPercent) {
+        requireWritable();
+        awaitLoaded();
+        if (verbose) {
+            System.out.println("\n═══ AWARDING DISCOUNTS ═══");
+        }
+        int count = 0;
+
+        for (Member member : snapshot()) {
+            if (member.getPerformanceRating() >= minRating) {
+                Member updated = member.copy();
+                updated.applyDiscountPercent(discountPercent);
+                replace(member, updated);
+                events.publish(MemberEvent.Type.UPDATE, member, updated, 1);
+                if (verbose) {
+                    System.out.printf("💰 %.1f%% discount awarded to: %s\n",
+                            discountPercent, member.getName());
+                }
+                count++;
+            }
+        }
+
+        if (verbose) {
+            System.out.println("Total discounts awarded: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Applies a discount to the given members, skipping any member whose base
+     * fee is no longer the expected one (it was already discounted, or changed
+     * since). Campaigns use this to apply each batch under one lock and to
+     * repeat a batch after an interruption without discounting twice.
+     *
+     * @param expectedCents   Base fee in cents, by member ID
+     * @param discountPercent Discount percentage to apply
+     * @return Number of discounts applied
+     */
+    public synchronized int applyDiscounts(Map<String, Long> expectedCents, double discountPercent) {
+        requireWritable();
+        awaitLoaded();
+        int count = 0;
+        for (Map.Entry<String, Long> entry : expectedCents.entrySet()) {
+            Member member = getById(entry.getKey());
+            if (member == null || MemberStats.toCents(member.getBaseFee()) != entry.getValue()) {
+                continue;
+            }
+            Member updated = member.copy();
+            updated.applyDiscountPercent(discountPercent);
+            replace(member, updated);
+            events.publish(MemberEvent.Type.UPDATE, member, updated, 1);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Generates the monthly invoices for all members and writes them to a
+     * ledger file. Runs on a snapshot in parallel chunks, so edits are not
+     * blocked while it runs.
+     *
+     * @param path   Ledger file (".gz" or ".deflate" to compress)
+     * @param period Billing month
+     * @return Totals of the run, or null if the ledger could not be written
+     */
+    public InvoiceRun.Summary generateInvoices(String path, YearMonth period) {
+        InvoiceRun run = new InvoiceRun(loadedSnapshot(), period, Runtime.getRuntime().availableProcessors());
+        InvoiceRun.Summary summary;
+        try {
+            summary = run.writeTo(Path.of(path));
+        } catch (IOException e) {
+            System.err.println("✗ Error writing invoices: " + e.getMessage());
+            return null;
+        }
+
+        System.out.printf("✓ %d invoices for %s written to %s (%.2f s, %.0f invoices/s)%n",
+                summary.getInvoiceCount(), period, path, summary.getElapsedSeconds(), summary.getInvoicesPerSecond());
+        if (verbose) {
+            for (int type = MemberStats.REGULAR; type <= MemberStats.PT; type++) {
+                System.out.printf("  %-8s %8d invoices  gross $%,.2f  discounts $%,.2f  due $%,.2f%n",
+                        MemberStats.typeName(type) + ":", summary.getInvoiceCount(type),
+                        summary.getGrossTotal(type), summary.getDiscountTotal(type), summary.getAmountDue(type));
+            }
+            System.out.printf("  Total amount due: $%,.2f%n", summary.getAmountDue());
+        }
+        return summary;
+    }
+
+    /**
+     * Finds members that are probably the same person registered under
+     * different IDs (similar name, same age). Runs on a snapshot, so edits
+     * are not blocked while it runs.
+     * 
+     * @return Candidate pairs of an earlier member and its probable duplicate
+     */
+    public List<DuplicateDetector.Candidate> findDuplicates() {
+        return DuplicateDetector.findDuplicates(loadedSnapshot());
+    }
+
+    /**
+     * Prints all probable duplicate members.
+     * 
+     * @return Number of candidate pairs found
+     */
+    public int printDuplicateReport() {
+        List<DuplicateDetector.Candidate> candidates = findDuplicates();
+        if (candidates.isEmpty()) {
+            System.out.println("\n✓ No probable duplicate members found.");
+            return 0;
+        }
+
+        System.out.println("\n═══════════════════════════════════════════════════════════");
+        System.out.println("             PROBABLE DUPLICATES (" + candidates.size() + ")");
+        System.out.println("═══════════════════════════════════════════════════════════");
+        for (DuplicateDetector.Candidate candidate : candidates) {
+            System.out.println("⚠ " + candidate);
+        }
+        return candidates.size();
+    }
+
+    private void reportDuplicateCount() {
+        int count = findDuplicates().size();
+        if (count > 0) {
+            System.out.println("⚠ " + count + " probable duplicate member(s) found; see Query Members → Find Probable Duplicates");
+        }
+    }
+
+    /**
+     * Enables or disables the duplicate-member check after each load.
+     * 
+     * @param check true to check for duplicates after loading
+     */
+    public void setCheckDuplicatesOnLoad(boolean check) {
+        this.checkDuplicatesOnLoad = check;
+    }
+
+    /**
+     * Makes this manager a read-only replica, or writable again. While read
+     * only, adds, updates, deletes, loads, imports, saves and discounts throw
+     * IllegalStateException; members change only through ReplicaClient.
+     * 
+     * @param readOnly true to reject local changes
+     */
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Loads fee discount rules from a file and makes them the rules used for
+     * all fee calculations. The running statistics of every manager are
+     * rebuilt, since every member's fee may have changed.
+     * 
+     * @param path Rules file (see FeeRules for the format)
+     * @return true if the rules were loaded; on error the old rules stay
+     */
+    public boolean reloadFeeRules(String path) {
+        FeeRules rules;
+        try {
+            rules = FeeRules.load(Path.of(path));
+        } catch (IOException e) {
+            System.err.println("✗ Error reading fee rules: " + e.getMessage());
+            return false;
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ Invalid fee rules: " + e.getMessage());
+            return false;
+        }
+
+        installFeeRules(rules);
+        System.out.println("✓ Loaded " + rules.getRuleCount() + " fee rules from " + path);
+        return true;
+    }
+
+    /**
+     * Makes the given rules the ones used for all fee calculations and
+     * rebuilds the running statistics of every manager, so that managers
+     * other than the one reloading (e.g. other sites) do not keep fee totals
+     * computed with the old rules.
+     * 
+     * @param rules New fee rules
+     */
+    static void installFeeRules(FeeRules rules) {
+        synchronized (FEE_RULES_LOCK) {
+            FeeRules.install(rules);
+            List<MemberManager> managers;
+            synchronized (MANAGERS) {
+                managers = new ArrayList<>(MANAGERS);
+            }
+            for (MemberManager manager : managers) {
+                manager.rebuildStats();
+            }
+        }
+    }
+
+    /**
+     * Recomputes the running statistics from all members.
+     */
+    private synchronized void rebuildStats() {
+        awaitLoaded();
+        stats.clear();
+        for (Member member : snapshot()) {
+            stats.add(member);
+        }
+    }
+
+    /**
+     * Creates a sample data file with predefined members if file doesn't exist.
+     */
+    public void ensureSampleData() {
+        Path path = Path.of(filePath);
+
+        if (Files.exists(path)) {
+            return;
+        }
+
+        try {
+            // Create sample data with header
+            List<String> sampleData = Arrays.asList(CSV_HEADER);
+
+            Files.write(path, sampleData);
+            System.out.println("✓ Sample data file created: " + filePath);
         } catch (IOException e) {
             System.err.println("✗ Error creating sample file: " + e.getMessage());
         }
     }
 
+    /**
+     * Prints revenue and membership statistics from the running aggregates.
+     */
+    public void printStatistics() {
+        System.out.println("\n═══════════════════════════════════════════════════════════");
+        System.out.println("                 MEMBERSHIP STATISTICS");
+        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.printf("Total members: %d\n", stats.getTotalCount());
+        System.out.printf("Total monthly revenue: $%.2f\n", stats.getTotalMonthlyRevenue());
+        System.out.printf("Average rating: %.1f\n", stats.getAverageRating());
+        System.out.printf("Goal achievement rate: %.1f%%\n", stats.getGoalAchievementRate());
+
+        for (int type = MemberStats.REGULAR; type <= MemberStats.PT; type++) {
+            System.out.println("───────────────────────────────────────────────────────────");
+            System.out.printf("%s members: %d\n", MemberStats.typeName(type), stats.getCount(type));
+            if (stats.getCount(type) == 0) {
+                continue;
+            }
+            System.out.printf("   Monthly revenue: $%.2f (avg $%.2f, min $%.2f, max $%.2f)\n",
+                    stats.getMonthlyRevenue(type), stats.getAverageFee(type),
+                    stats.getMinFee(type), stats.getMaxFee(type));
+            System.out.printf("   Rating: avg %.1f, min %d, max %d\n",
+                    stats.getAverageRating(type), stats.getMinRating(type), stats.getMaxRating(type));
+            System.out.printf("   Goal achievement rate: %.1f%%\n", stats.getGoalAchievementRate(type));
+
+            long[] bands = stats.getRatingHistogram(type, 10);
+            for (int band = 0; band < bands.length; band++) {
+                int low = band * 10;
+                int high = (band == bands.length - 1) ? 100 : low + 9;
+                System.out.printf("   %3d-%-3d | %d\n", low, high, bands[band]);
+            }
+        }
+    }
+
+    /**
+     * Returns the running statistics for the member base.
+     * 
+     * @return Live statistics object
+     */
+    public MemberStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Enables or disables per-member confirmation messages.
+     * Batch mode turns these off and reports a single summary instead.
+     * 
+     * @param verbose true to print a message for every change
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Returns the change-event feed. Subscribers are notified of every add,
+     * update, delete and bulk load made through this manager.
+     * 
+     * @return The event bus
+     */
+    public MemberEventBus getEventBus() {
+        return events;
+    }
+
+    /**
+     * Returns the number of records skipped and blocks found damaged when
+     * the data file was last loaded, or 0 once it has been saved.
+     * 
+     * @return Number of load problems
+     */
+    public int getLoadProblems() {
+        return loadProblems;
+    }
+
+    /**
+     * Allows the next save to overwrite a data file that had load problems.
+     * The old file is kept as "file.bak".
+     */
+    public void confirmOverwrite() {
+        overwriteConfirmed = true;
+    }
+
+    /**
+     * Returns the data file this manager loads and saves.
+     * 
+     * @return File path
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
     /**
      * Returns the total number of members.
      * 
@@ -0,0 +1,648 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * Radix tree over lower-cased member IDs, full names and the words of each
+ * name, for type-ahead search. Each node records the highest rating and the
+ * latest change stamp found below it, and keeps its own members in stamp
+ * order and (mostly) in rating order, so the best N completions of a prefix
+ * are found best-first without visiting every match.
+ *
+ * Not thread-safe; MemberManager keeps it up to date under its own lock.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class MemberPrefixIndex {
+    /**
+     * Order of completion results.
+     */
+    public enum Rank {
+        /** Highest performance rating first, most recent first on ties */
+        RATING,
+        /** Most recently added or changed member first */
+        RECENCY
+    }
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    // Rating occupies the bits above the stamp in a RATING score
+    private static final int STAMP_BITS = 40;
+
+    private static final class Node {
+        char[] label; // edge label leading into this node
+        Node[] children = NO_CHILDREN; // sorted by first label character
+        Postings postings; // members with a key ending here, or null
+        int maxRating = -1; // over this node and all nodes below it
+        long maxStamp = -1;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Members whose key ends at one node, held twice: in stamp order and in
+     * RATING score order. Removed entries are set to null and dropped when
+     * they outnumber the live ones. New entries go to an unsorted tail of the
+     * score arrays, which is merged in once it grows past about the square
+     * root of the sorted part, so adds stay cheap on very common names.
+     * Small lists (such as the single member under an ID) have no score
+     * order at all.
+     */
+    private static final class Postings {
+        private static final int SMALL = 8;
+
+        Member[] byStamp = new Member[1];
+        long[] stamps = new long[1];
+        int stampEnd;
+        Member[] byScore; // null while the list is small
+        long[] scores;
+        int sorted; // scores[0, sorted) ascending; [sorted, scoreEnd) unsorted
+        int scoreEnd;
+        int live;
+
+        void add(Member member, long stamp) {
+            if (stampEnd == stamps.length) {
+                int capacity = stampEnd * 2;
+                byStamp = Arrays.copyOf(byStamp, capacity);
+                stamps = Arrays.copyOf(stamps, capacity);
+                if (byScore != null) {
+                    byScore = Arrays.copyOf(byScore, capacity);
+                    scores = Arrays.copyOf(scores, capacity);
+                }
+            }
+            // Stamps only increase, so the stamp order is append order
+            byStamp[stampEnd] = member;
+            stamps[stampEnd++] = stamp;
+            live++;
+
+            if (byScore != null) {
+                byScore[scoreEnd] = member;
+                scores[scoreEnd++] = score(member, stamp);
+            } else if (stampEnd > SMALL) {
+                byScore = new Member[stamps.length];
+                scores = new long[stamps.length];
+                for (int i = 0; i < stampEnd; i++) {
+                    if (byStamp[i] != null) {
+                        byScore[scoreEnd] = byStamp[i];
+                        scores[scoreEnd++] = score(byStamp[i], stamps[i]);
+                    }
+                }
+            }
+            if (byScore != null && scoreEnd - sorted > Math.max(SMALL, (int) Math.sqrt(sorted))) {
+                mergeTail();
+            }
+        }
+
+        /**
+         * Returns the stamp of a member in this list, or -1.
+         */
+        long stampOf(Member member) {
+            for (int i = 0; i < stampEnd; i++) {
+                if (byStamp[i] == member) {
+                    return stamps[i];
+                }
+            }
+            return -1;
+        }
+
+        boolean remove(Member member, long stamp) {
+            int atStamp = Arrays.binarySearch(stamps, 0, stampEnd, stamp);
+            if (atStamp < 0 || byStamp[atStamp] != member) {
+                return false;
+            }
+            byStamp[atStamp] = null;
+            live--;
+            if (byScore == null) {
+                return true;
+            }
+
+            long score = score(member, stamp);
+            int atScore = Arrays.binarySearch(scores, 0, sorted, score);
+            if (atScore < 0) {
+                atScore = sorted;
+                while (scores[atScore] != score) {
+                    atScore++;
+                }
+            }
+            byScore[atScore] = null;
+
+            if (live > 0 && live * 2 < stampEnd && stampEnd > 8) {
+                compact();
+            }
+            return true;
+        }
+
+        /**
+         * Sorts the tail of the score arrays and merges it into the sorted part.
+         */
+        private void mergeTail() {
+            int tail = scoreEnd - sorted;
+            Integer[] order = new Integer[tail];
+            for (int i = 0; i < tail; i++) {
+                order[i] = sorted + i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(scores[a], scores[b]));
+            long[] tailScores = new long[tail];
+            Member[] tailMembers = new Member[tail];
+            for (int i = 0; i < tail; i++) {
+                tailScores[i] = scores[order[i]];
+                tailMembers[i] = byScore[order[i]];
+            }
+
+            // Merge from the back so the sorted part can be shifted in place
+            int a = sorted - 1;
+            int b = tail - 1;
+            for (int to = scoreEnd - 1; b >= 0; to--) {
+                if (a >= 0 && scores[a] > tailScores[b]) {
+                    scores[to] = scores[a];
+                    byScore[to] = byScore[a--];
+                } else {
+                    scores[to] = tailScores[b];
+                    byScore[to] = tailMembers[b--];
+                }
+            }
+            sorted = scoreEnd;
+        }
+
+        /**
+         * Drops removed entries from both orders.
+         */
+        private void compact() {
+            if (byScore != null) {
+                mergeTail();
+            }
+            int to = 0;
+            for (int i = 0; i < stampEnd; i++) {
+                if (byStamp[i] != null) {
+                    stamps[to] = stamps[i];
+                    byStamp[to++] = byStamp[i];
+                }
+            }
+            Arrays.fill(byStamp, to, stampEnd, null);
+            stampEnd = to;
+            if (byScore == null) {
+                return;
+            }
+
+            to = 0;
+            for (int i = 0; i < scoreEnd; i++) {
+                if (byScore[i] != null) {
+                    scores[to] = scores[i];
+                    byScore[to++] = byScore[i];
+                }
+            }
+            Arrays.fill(byScore, to, scoreEnd, null);
+            scoreEnd = to;
+            sorted = to;
+        }
+
+        /**
+         * Returns the highest live position at or below a position in the
+         * stamp order, or -1.
+         */
+        int liveStamp(int position) {
+            while (position >= 0 && byStamp[position] == null) {
+                position--;
+            }
+            return position;
+        }
+
+        /**
+         * Returns the highest live position at or below a position in the
+         * sorted part of the score order, or -1.
+         */
+        int liveScore(int position) {
+            while (position >= 0 && byScore[position] == null) {
+                position--;
+            }
+            return position;
+        }
+
+        int maxRating() {
+            if (byScore == null) {
+                int max = -1;
+                for (int i = 0; i < stampEnd; i++) {
+                    if (byStamp[i] != null) {
+                        max = Math.max(max, byStamp[i].getPerformanceRating());
+                    }
+                }
+                return max;
+            }
+            long max = -1;
+            int top = liveScore(sorted - 1);
+            if (top >= 0) {
+                max = scores[top];
+            }
+            for (int i = sorted; i < scoreEnd; i++) {
+                if (byScore[i] != null) {
+                    max = Math.max(max, scores[i]);
+                }
+            }
+            return max < 0 ? -1 : (int) (max >>> STAMP_BITS);
+        }
+
+        long maxStamp() {
+            int top = liveStamp(stampEnd - 1);
+            return top < 0 ? -1 : stamps[top];
+        }
+    }
+
+    /**
+     * Search frontier entry. Either a single member, a position in one of a
+     * node's sorted orders (followed by the next position once taken), or a
+     * node still to expand (position < 0).
+     */
+    private static final class Candidate {
+        final long score;
+        final Node node;
+        final int position;
+        final Member member;
+
+        Candidate(long score, Node node, int position, Member member) {
+            this.score = score;
+            this.node = node;
+            this.position = position;
+            this.member = member;
+        }
+    }
+
+    private final Node root = new Node(new char[0]);
+    private long clock;
+
+    /**
+     * Indexes a member under its ID, full name and name words.
+     *
+     * @param member The member to index
+     */
+    void add(Member member) {
+        long stamp = ++clock;
+        for (String key : keysOf(member)) {
+            insert(root, key.toCharArray(), 0, member, stamp);
+        }
+    }
+
+    /**
+     * Removes a member previously passed to add().
+     *
+     * @param member The indexed member instance
+     */
+    void remove(Member member) {
+        // IDs are unique, so the ID node holds the member's stamp
+        List<String> keys = keysOf(member);
+        Node idNode = findExact(keys.get(0).toCharArray());
+        long stamp = idNode == null || idNode.postings == null ? -1 : idNode.postings.stampOf(member);
+        if (stamp < 0) {
+            return;
+        }
+        for (String key : keys) {
+            remove(root, key.toCharArray(), 0, member, stamp);
+        }
+    }
+
+    void clear() {
+        root.children = NO_CHILDREN;
+        root.maxRating = -1;
+        root.maxStamp = -1;
+    }
+
+    /**
+     * Returns the best members whose ID, name or any word of the name starts
+     * with a prefix.
+     *
+     * @param prefix Text typed so far (case-insensitive)
+     * @param limit  Maximum number of results
+     * @param rank   Result order
+     * @return Up to limit distinct members, best first
+     */
+    public List<Member> complete(String prefix, int limit, Rank rank) {
+        List<Member> results = new ArrayList<>();
+        if (prefix == null || limit <= 0) {
+            return results;
+        }
+
+        return best(find(normalize(prefix).toCharArray()), limit, rank, true);
+    }
+
+    /**
+     * Returns the best members with exactly the given ID, name or name ending
+     * (from any word onwards).
+     *
+     * @param key   Lower-cased key
+     * @param limit Maximum number of results
+     * @param rank  Result order
+     * @return Up to limit members, best first
+     */
+    List<Member> exact(String key, int limit, Rank rank) {
+        return best(findExact(key.toCharArray()), limit, rank, false);
+    }
+
+    /**
+     * Best-first search over a node's members and, optionally, all nodes
+     * below it.
+     */
+    private List<Member> best(Node start, int limit, Rank rank, boolean descend) {
+        List<Member> results = new ArrayList<>();
+        if (start == null || start.maxStamp < 0 || limit <= 0) {
+            return results;
+        }
+
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(
+                (a, b) -> Long.compare(b.score, a.score));
+        frontier.add(new Candidate(bound(start, rank), start, -1, null));
+        Set<Member> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        while (!frontier.isEmpty() && results.size() < limit) {
+            Candidate next = frontier.poll();
+            Node node = next.node;
+            Postings postings = node.postings;
+            Member member = next.member;
+            if (member == null && next.position >= 0) {
+                member = rank == Rank.RATING ? postings.byScore[next.position] : postings.byStamp[next.position];
+                offerNext(frontier, node, next.position - 1, rank);
+            }
+            if (member != null) {
+                // A member may match through several keys; report it once
+                if (seen.add(member)) {
+                    results.add(member);
+                }
+                continue;
+            }
+
+            if (postings != null) {
+                if (rank == Rank.RATING && postings.byScore == null) {
+                    for (int i = 0; i < postings.stampEnd; i++) {
+                        Member single = postings.byStamp[i];
+                        if (single != null) {
+                            frontier.add(new Candidate(score(single, postings.stamps[i]), node, -1, single));
+                        }
+                    }
+                } else if (rank == Rank.RATING) {
+                    offerNext(frontier, node, postings.sorted - 1, rank);
+                    for (int i = postings.sorted; i < postings.scoreEnd; i++) {
+                        Member single = postings.byScore[i];
+                        if (single != null) {
+                            frontier.add(new Candidate(postings.scores[i], node, -1, single));
+                        }
+                    }
+                } else {
+                    offerNext(frontier, node, postings.stampEnd - 1, rank);
+                }
+            }
+            if (descend) {
+                for (Node child : node.children) {
+                    frontier.add(new Candidate(bound(child, rank), child, -1, null));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Adds the best live member at or below a position of a node's sorted
+     * order to the frontier.
+     */
+    private static void offerNext(PriorityQueue<Candidate> frontier, Node node, int position, Rank rank) {
+        Postings postings = node.postings;
+        if (rank == Rank.RATING) {
+            position = postings.liveScore(position);
+            if (position >= 0) {
+                frontier.add(new Candidate(postings.scores[position], node, position, null));
+            }
+        } else {
+            position = postings.liveStamp(position);
+            if (position >= 0) {
+                frontier.add(new Candidate(postings.stamps[position], node, position, null));
+            }
+        }
+    }
+
+    private static long score(Member member, long stamp) {
+        return ((long) member.getPerformanceRating() << STAMP_BITS) | stamp;
+    }
+
+    /**
+     * Upper bound of the score of any member at or below a node.
+     */
+    private static long bound(Node node, Rank rank) {
+        return rank == Rank.RATING ? ((long) node.maxRating << STAMP_BITS) | node.maxStamp : node.maxStamp;
+    }
+
+    /**
+     * Returns the index keys of a member: ID, then its name keys.
+     */
+    private static List<String> keysOf(Member member) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(normalize(member.getId()));
+        addNameKeys(member, keys);
+        return keys;
+    }
+
+    /**
+     * Returns the lower-cased full name and the name from each later word on.
+     *
+     * @param member The member
+     * @return Distinct name keys, full name first
+     */
+    static List<String> nameKeys(Member member) {
+        List<String> keys = new ArrayList<>(3);
+        addNameKeys(member, keys);
+        return keys;
+    }
+
+    private static void addNameKeys(Member member, List<String> keys) {
+        String name = normalize(member.getName());
+        if (!name.isEmpty() && !keys.contains(name)) {
+            keys.add(name);
+        }
+        for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+            String word = name.substring(i + 1);
+            if (!word.isEmpty() && word.charAt(0) != ' ' && !keys.contains(word)) {
+                keys.add(word);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the highest node whose subtree holds exactly the keys starting
+     * with the prefix, or null if there are none.
+     */
+    private Node find(char[] prefix) {
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length) {
+            int index = childIndex(node, prefix[pos]);
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int length = Math.min(child.label.length, prefix.length - pos);
+            for (int i = 1; i < length; i++) {
+                if (child.label[i] != prefix[pos + i]) {
+                    return null;
+                }
+            }
+            pos += length;
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the node where a key ends exactly, or null.
+     */
+    private Node findExact(char[] key) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length) {
+            int index = childIndex(node, key[pos]);
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            if (key.length - pos < child.label.length
+                    || !Arrays.equals(child.label, 0, child.label.length, key, pos, pos + child.label.length)) {
+                return null;
+            }
+            pos += child.label.length;
+            node = child;
+        }
+        return node;
+    }
+
+    private static void insert(Node node, char[] key, int pos, Member member, long stamp) {
+        node.maxRating = Math.max(node.maxRating, member.getPerformanceRating());
+        node.maxStamp = Math.max(node.maxStamp, stamp);
+        if (pos == key.length) {
+            if (node.postings == null) {
+                node.postings = new Postings();
+            }
+            node.postings.add(member, stamp);
+            return;
+        }
+
+        int index = childIndex(node, key[pos]);
+        if (index < 0) {
+            Node leaf = new Node(Arrays.copyOfRange(key, pos, key.length));
+            insert(leaf, key, key.length, member, stamp);
+            insertChild(node, -index - 1, leaf);
+            return;
+        }
+
+        Node child = node.children[index];
+        int common = 1;
+        while (common < child.label.length && pos + common < key.length
+                && child.label[common] == key[pos + common]) {
+            common++;
+        }
+        if (common < child.label.length) {
+            // Split the edge where the key leaves it
+            Node middle = new Node(Arrays.copyOf(child.label, common));
+            child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+            middle.children = new Node[] { child };
+            middle.maxRating = child.maxRating;
+            middle.maxStamp = child.maxStamp;
+            node.children[index] = middle;
+            child = middle;
+        }
+        insert(child, key, pos + common, member, stamp);
+    }
+
+    /**
+     * Removes one posting and prunes or merges nodes left without postings.
+     *
+     * @return true if the posting was found
+     */
+    private static boolean remove(Node node, char[] key, int pos, Member member, long stamp) {
+        boolean removed;
+        if (pos == key.length) {
+            removed = node.postings != null && node.postings.remove(member, stamp);
+            if (removed && node.postings.live == 0) {
+                node.postings = null;
+            }
+        } else {
+            int index = childIndex(node, key[pos]);
+            if (index < 0) {
+                return false;
+            }
+            Node child = node.children[index];
+            if (key.length - pos < child.label.length
+                    || !Arrays.equals(child.label, 0, child.label.length, key, pos, pos + child.label.length)) {
+                return false;
+            }
+            removed = remove(child, key, pos + child.label.length, member, stamp);
+            if (removed && child.postings == null) {
+                if (child.children.length == 0) {
+                    removeChild(node, index);
+                } else if (child.children.length == 1) {
+                    Node grandchild = child.children[0];
+                    char[] label = Arrays.copyOf(child.label, child.label.length + grandchild.label.length);
+                    System.arraycopy(grandchild.label, 0, label, child.label.length, grandchild.label.length);
+                    grandchild.label = label;
+                    node.children[index] = grandchild;
+                }
+            }
+        }
+        if (removed) {
+            recomputeMaxima(node);
+        }
+        return removed;
+    }
+
+    private static void recomputeMaxima(Node node) {
+        int maxRating = -1;
+        long maxStamp = -1;
+        if (node.postings != null) {
+            maxRating = node.postings.maxRating();
+            maxStamp = node.postings.maxStamp();
+        }
+        for (Node child : node.children) {
+            maxRating = Math.max(maxRating, child.maxRating);
+            maxStamp = Math.max(maxStamp, child.maxStamp);
+        }
+        node.maxRating = maxRating;
+        node.maxStamp = maxStamp;
+    }
+
+    /**
+     * Binary search for the child whose label starts with c.
+     *
+     * @return Child index, or -(insertion point) - 1 if there is none
+     */
+    private static int childIndex(Node node, char c) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = node.children[mid].label[0];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, int index) {
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children.length == 0 ? NO_CHILDREN : children;
+    }
+}
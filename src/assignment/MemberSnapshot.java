@@ -0,0 +1,114 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * Read-only, point-in-time view of all members.
+ * Taking a snapshot costs O(1): it keeps a reference to the manager's current
+ * persistent member vector. Later adds, updates and deletes create new vector
+ * versions and never change this one, so reports and saves can iterate a
+ * snapshot while edits continue.
+ *
+ * Members in a snapshot must not be modified; MemberManager applies every
+ * change to a copy of the member.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MemberSnapshot implements Iterable<Member> {
+    private final MemberVector members;
+    private final long sequence;
+
+    /**
+     * Constructor for MemberSnapshot.
+     *
+     * @param members  The vector version to expose
+     * @param sequence Last change-event sequence included in this snapshot
+     */
+    MemberSnapshot(MemberVector members, long sequence) {
+        this.members = members;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the number of members in the snapshot.
+     *
+     * @return Member count
+     */
+    public int size() {
+        return members.size();
+    }
+
+    public boolean isEmpty() {
+        return members.size() == 0;
+    }
+
+    /**
+     * Returns the sequence number of the last change event reflected in this
+     * snapshot. Events with a higher sequence happened after it was taken.
+     *
+     * @return Event sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the number of slots, including slots of deleted members.
+     *
+     * @return Slot count
+     */
+    public int getSlotCount() {
+        return members.slotCount();
+    }
+
+    /**
+     * Returns the member in a slot.
+     *
+     * @param slot Slot number (0 to getSlotCount() - 1)
+     * @return The member, or null if the slot is empty
+     */
+    public Member getSlot(int slot) {
+        return members.get(slot);
+    }
+
+    /**
+     * Iterates over members in insertion order, skipping empty slots.
+     */
+    @Override
+    public Iterator<Member> iterator() {
+        return new Iterator<Member>() {
+            private int slot = -1;
+            private Object[] leaf;
+            private Member next = advance();
+
+            private Member advance() {
+                while (++slot < members.slotCount()) {
+                    if (leaf == null || (slot & 31) == 0) {
+                        leaf = members.leafFor(slot);
+                    }
+                    Member member = (Member) leaf[slot & 31];
+                    if (member != null) {
+                        return member;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Member next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Member current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+}
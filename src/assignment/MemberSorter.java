@@ -0,0 +1,261 @@
+package assignment;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Sorts member files that may be larger than memory (external merge sort).
+ *
+ * Members are read in runs of at most runSize; each run is sorted in memory
+ * and spilled to a temporary NDJSON file, which keeps every value exact.
+ * The runs are then merged through a priority queue holding one member per
+ * run. With more than MAX_MERGE_WIDTH runs, groups of runs are first merged
+ * into longer runs, so the number of open files stays bounded. Input that
+ * fits in a single run is sorted without temporary files.
+ *
+ * Members with equal keys are ordered by ID, so the output is deterministic.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public final class MemberSorter {
+    public static final int DEFAULT_RUN_SIZE = 200_000;
+    private static final int MAX_MERGE_WIDTH = 64;
+
+    /**
+     * Sort orders.
+     */
+    public enum Key {
+        ID, NAME, FEE;
+
+        private Comparator<Member> comparator() {
+            Comparator<Member> byId = Comparator.comparing((Member m) -> m.getId().toLowerCase(Locale.ROOT))
+                    .thenComparing(Member::getId);
+            switch (this) {
+                case NAME:
+                    return Comparator.comparing(Member::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+                case FEE:
+                    return Comparator.comparingDouble(Member::calculateFee).thenComparing(byId);
+                default:
+                    return byId;
+            }
+        }
+
+        /**
+         * Parses a key name (id, name or fee).
+         *
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Key parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Sort key must be id, name or fee");
+            }
+        }
+    }
+
+    /**
+     * Supplies members one at a time; null marks the end.
+     */
+    private interface Source {
+        Member next() throws IOException;
+    }
+
+    /**
+     * A spilled run being merged, with its current (smallest) member.
+     */
+    private static final class Run {
+        final MemberJsonReader reader;
+        final int order;
+        Member head;
+
+        Run(MemberJsonReader reader, int order) {
+            this.reader = reader;
+            this.order = order;
+        }
+    }
+
+    private final Comparator<Member> comparator;
+    private final int runSize;
+    private int runsSpilled;
+
+    /**
+     * Constructor for MemberSorter.
+     *
+     * @param key     Sort order
+     * @param runSize Maximum number of members held in memory
+     */
+    public MemberSorter(Key key, int runSize) {
+        if (runSize < 2) {
+            throw new IllegalArgumentException("Run size must be at least 2");
+        }
+        this.comparator = key.comparator();
+        this.runSize = runSize;
+    }
+
+    /**
+     * Sorts a member file into another; formats follow the file names.
+     *
+     * @param source Input CSV, JSON or NDJSON file
+     * @param target Output file
+     * @return Number of members written
+     * @throws IOException if a file cannot be read or written
+     */
+    public int sort(String source, String target) throws IOException {
+        try (MemberFileReader in = new MemberFileReader(Path.of(source))) {
+            return sort(in::next, Path.of(target));
+        }
+    }
+
+    /**
+     * Writes members to a file in sorted order.
+     *
+     * @param members Members to sort, e.g. a snapshot
+     * @param target  Output file
+     * @return Number of members written
+     * @throws IOException if writing fails
+     */
+    public int sort(Iterable<Member> members, String target) throws IOException {
+        Iterator<Member> iterator = members.iterator();
+        return sort(() -> iterator.hasNext() ? iterator.next() : null, Path.of(target));
+    }
+
+    /**
+     * Returns the number of runs written to temporary files by the last sort.
+     *
+     * @return Spilled run count (0 if the input fitted in memory)
+     */
+    public int getRunsSpilled() {
+        return runsSpilled;
+    }
+
+    private int sort(Source source, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        List<Path> runs = new ArrayList<>();
+        runsSpilled = 0;
+        try {
+            List<Member> buffer = new ArrayList<>(Math.min(runSize, 1 << 16));
+            Member member;
+            while ((member = source.next()) != null) {
+                buffer.add(member);
+                if (buffer.size() == runSize) {
+                    runs.add(spill(buffer, directory));
+                    buffer.clear();
+                }
+            }
+
+            if (runs.isEmpty()) {
+                buffer.sort(comparator);
+                try (MemberFileWriter out = new MemberFileWriter(target)) {
+                    for (Member m : buffer) {
+                        out.write(m);
+                    }
+                }
+                return buffer.size();
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(spill(buffer, directory));
+            }
+            buffer = null;
+
+            // Merge neighbouring runs in passes until one merge can produce the output
+            while (runs.size() > MAX_MERGE_WIDTH) {
+                List<Path> merged = new ArrayList<>();
+                for (int start = 0; start < runs.size(); start += MAX_MERGE_WIDTH) {
+                    List<Path> group = runs.subList(start, Math.min(start + MAX_MERGE_WIDTH, runs.size()));
+                    Path run = Files.createTempFile(directory, "mms-sort-", ".run");
+                    merged.add(run);
+                    try (MemberJsonWriter out = new MemberJsonWriter(MemberFileIO.newWriter(run), true)) {
+                        merge(group, out::write);
+                    } catch (IOException e) {
+                        deleteAll(merged);
+                        throw e;
+                    }
+                }
+                deleteAll(runs);
+                runs = merged;
+            }
+            try (MemberFileWriter out = new MemberFileWriter(target)) {
+                return merge(runs, out::write);
+            }
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * Sorts a buffer and writes it to a new temporary run file.
+     */
+    private Path spill(List<Member> buffer, Path directory) throws IOException {
+        buffer.sort(comparator);
+        Path run = Files.createTempFile(directory, "mms-sort-", ".run");
+        try (MemberJsonWriter out = new MemberJsonWriter(MemberFileIO.newWriter(run), true)) {
+            for (Member member : buffer) {
+                out.write(member);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(run);
+            throw e;
+        }
+        runsSpilled++;
+        return run;
+    }
+
+    /**
+     * Output of a merge.
+     */
+    private interface Sink {
+        void write(Member member) throws IOException;
+    }
+
+    /**
+     * Merges sorted runs; ties go to the earlier run, so the merge is stable.
+     *
+     * @return Number of members written
+     */
+    private int merge(List<Path> paths, Sink out) throws IOException {
+        PriorityQueue<Run> heads = new PriorityQueue<>(paths.size(), (a, b) -> {
+            int order = comparator.compare(a.head, b.head);
+            return order != 0 ? order : Integer.compare(a.order, b.order);
+        });
+        List<Run> open = new ArrayList<>();
+        int written = 0;
+        try {
+            for (Path path : paths) {
+                Run run = new Run(new MemberJsonReader(MemberFileIO.newReader(path)), open.size());
+                open.add(run);
+                run.head = run.reader.next();
+                if (run.head != null) {
+                    heads.add(run);
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                Run run = heads.poll();
+                out.write(run.head);
+                written++;
+                run.head = run.reader.next();
+                if (run.head != null) {
+                    heads.add(run);
+                }
+            }
+        } finally {
+            for (Run run : open) {
+                run.reader.close();
+            }
+        }
+        return written;
+    }
+
+    private static void deleteAll(Collection<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.err.println("⚠ Could not delete temporary file " + path + ": " + e.getMessage());
+            }
+        }
+    }
+}
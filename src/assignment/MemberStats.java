@@ -0,0 +1,212 @@
+package assignment;
+
+import java.util.*;
+
+/**
+ * Maintains running aggregates over the member base.
+ * MemberManager updates these counters on every add, delete and update so
+ * statistics such as total revenue or average rating are available without
+ * a full pass over all members.
+ *
+ * Counts, sums and the rating histogram are updated in O(1). Minimum and
+ * maximum fees are kept in a sorted multiset and cost O(log n) per change.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MemberStats {
+    public static final int REGULAR = 0;
+    public static final int PT = 1;
+    private static final String[] TYPE_NAMES = { "Regular", "PT" };
+
+    // Per-type aggregates; fees are kept in cents to avoid drift on add/remove
+    private final long[] count = new long[2];
+    private final long[] feeCents = new long[2];
+    private final long[] ratingSum = new long[2];
+    private final long[] goalCount = new long[2];
+    private final long[][] ratingHistogram = new long[2][101];
+    private final List<TreeMap<Long, Integer>> feeCounts = Arrays.asList(new TreeMap<>(), new TreeMap<>());
+
+    /**
+     * Determines the aggregate bucket for a member.
+     *
+     * @param member The member to classify
+     * @return PT for personal training members, REGULAR otherwise
+     */
+    public static int typeOf(Member member) {
+        return (member instanceof PTMember) ? PT : REGULAR;
+    }
+
+    /**
+     * Returns the display name of a member type bucket.
+     *
+     * @param type REGULAR or PT
+     * @return Type name
+     */
+    public static String typeName(int type) {
+        return TYPE_NAMES[type];
+    }
+
+    /**
+     * Adds a member's current values to the aggregates.
+     *
+     * @param member The member being added
+     */
+    synchronized void add(Member member) {
+        int type = typeOf(member);
+        long fee = toCents(member.calculateFee());
+        int rating = member.getPerformanceRating();
+
+        count[type]++;
+        feeCents[type] += fee;
+        ratingSum[type] += rating;
+        ratingHistogram[type][rating]++;
+        if (member.isAchievedGoal()) {
+            goalCount[type]++;
+        }
+        feeCounts.get(type).merge(fee, 1, Integer::sum);
+    }
+
+    /**
+     * Removes a member's current values from the aggregates.
+     * Must be called with the same member state that was previously added.
+     *
+     * @param member The member being removed
+     */
+    synchronized void remove(Member member) {
+        int type = typeOf(member);
+        long fee = toCents(member.calculateFee());
+        int rating = member.getPerformanceRating();
+
+        count[type]--;
+        feeCents[type] -= fee;
+        ratingSum[type] -= rating;
+        ratingHistogram[type][rating]--;
+        if (member.isAchievedGoal()) {
+            goalCount[type]--;
+        }
+        feeCounts.get(type).computeIfPresent(fee, (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    /**
+     * Resets all aggregates to empty.
+     */
+    synchronized void clear() {
+        for (int type = 0; type < 2; type++) {
+            count[type] = 0;
+            feeCents[type] = 0;
+            ratingSum[type] = 0;
+            goalCount[type] = 0;
+            Arrays.fill(ratingHistogram[type], 0);
+            feeCounts.get(type).clear();
+        }
+    }
+
+    static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+
+    // Queries
+
+    public synchronized long getCount(int type) {
+        return count[type];
+    }
+
+    public synchronized long getTotalCount() {
+        return count[REGULAR] + count[PT];
+    }
+
+    public synchronized double getMonthlyRevenue(int type) {
+        return feeCents[type] / 100.0;
+    }
+
+    public synchronized double getTotalMonthlyRevenue() {
+        return (feeCents[REGULAR] + feeCents[PT]) / 100.0;
+    }
+
+    public synchronized double getAverageFee(int type) {
+        return count[type] == 0 ? 0.0 : feeCents[type] / 100.0 / count[type];
+    }
+
+    public synchronized double getMinFee(int type) {
+        TreeMap<Long, Integer> fees = feeCounts.get(type);
+        return fees.isEmpty() ? 0.0 : fees.firstKey() / 100.0;
+    }
+
+    public synchronized double getMaxFee(int type) {
+        TreeMap<Long, Integer> fees = feeCounts.get(type);
+        return fees.isEmpty() ? 0.0 : fees.lastKey() / 100.0;
+    }
+
+    public synchronized double getAverageRating(int type) {
+        return count[type] == 0 ? 0.0 : (double) ratingSum[type] / count[type];
+    }
+
+    public synchronized double getAverageRating() {
+        long total = getTotalCount();
+        return total == 0 ? 0.0 : (double) (ratingSum[REGULAR] + ratingSum[PT]) / total;
+    }
+
+    /**
+     * Returns the lowest rating held by any member of the type.
+     *
+     * @param type REGULAR or PT
+     * @return Minimum rating, or -1 if there are no members of this type
+     */
+    public synchronized int getMinRating(int type) {
+        for (int rating = 0; rating <= 100; rating++) {
+            if (ratingHistogram[type][rating] > 0) {
+                return rating;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the highest rating held by any member of the type.
+     *
+     * @param type REGULAR or PT
+     * @return Maximum rating, or -1 if there are no members of this type
+     */
+    public synchronized int getMaxRating(int type) {
+        for (int rating = 100; rating >= 0; rating--) {
+            if (ratingHistogram[type][rating] > 0) {
+                return rating;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the percentage of members of a type who achieved their goal.
+     *
+     * @param type REGULAR or PT
+     * @return Goal achievement rate (0-100)
+     */
+    public synchronized double getGoalAchievementRate(int type) {
+        return count[type] == 0 ? 0.0 : 100.0 * goalCount[type] / count[type];
+    }
+
+    public synchronized double getGoalAchievementRate() {
+        long total = getTotalCount();
+        return total == 0 ? 0.0 : 100.0 * (goalCount[REGULAR] + goalCount[PT]) / total;
+    }
+
+    /**
+     * Returns the number of members of a type in each band of ratings.
+     *
+     * @param type      REGULAR or PT
+     * @param bandWidth Width of each rating band (e.g. 10 gives 0-9, 10-19, ...)
+     * @return Member count per band; the last band includes a rating of 100
+     */
+    public synchronized long[] getRatingHistogram(int type, int bandWidth) {
+        if (bandWidth <= 0 || bandWidth > 100) {
+            throw new IllegalArgumentException("Band width must be between 1 and 100");
+        }
+        long[] bands = new long[(100 + bandWidth - 1) / bandWidth];
+        for (int rating = 0; rating <= 100; rating++) {
+            bands[Math.min(rating / bandWidth, bands.length - 1)] += ratingHistogram[type][rating];
+        }
+        return bands;
+    }
+}
@@ -0,0 +1,145 @@
+package assignment;
+
+/**
+ * Immutable, persistent vector of member slots.
+ * Members are stored in a 32-way tree. Every change copies only the path from
+ * the root to the changed slot (at most a few small arrays) and returns a new
+ * vector; older versions remain valid and unchanged. Holding on to a version
+ * is therefore a free, consistent snapshot.
+ *
+ * Deleted members leave an empty (null) slot so that slot numbers stay
+ * stable; the manager compacts the vector when empty slots pile up.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class MemberVector {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final MemberVector EMPTY = new MemberVector(0, 0, 0, new Object[WIDTH]);
+
+    private final int slotCount;
+    private final int liveCount;
+    private final int shift;
+    private final Object[] root;
+
+    private MemberVector(int slotCount, int liveCount, int shift, Object[] root) {
+        this.slotCount = slotCount;
+        this.liveCount = liveCount;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * Returns the number of slots, including empty ones.
+     */
+    int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns the number of non-empty slots.
+     */
+    int size() {
+        return liveCount;
+    }
+
+    /**
+     * Returns the member in a slot.
+     *
+     * @param slot Slot number (0 to slotCount - 1)
+     * @return The member, or null if the slot is empty
+     */
+    Member get(int slot) {
+        return (Member) leafFor(slot)[slot & MASK];
+    }
+
+    /**
+     * Returns the leaf array holding a slot, for fast sequential access.
+     */
+    Object[] leafFor(int slot) {
+        if (slot < 0 || slot >= slotCount) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " out of range (" + slotCount + " slots)");
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(slot >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * Returns a new vector with a member appended in a new slot.
+     *
+     * @param member The member to append
+     * @return The new vector
+     */
+    MemberVector append(Member member) {
+        int newShift = shift;
+        Object[] newRoot = root;
+        if (slotCount == (1 << (shift + BITS))) {
+            // Root is full: grow the tree by one level
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newShift += BITS;
+        }
+        newRoot = assoc(newRoot, newShift, slotCount, member, newRoot != root);
+        return new MemberVector(slotCount + 1, liveCount + (member != null ? 1 : 0), newShift, newRoot);
+    }
+
+    /**
+     * Returns a new vector with one slot replaced.
+     *
+     * @param slot   Slot number to replace
+     * @param member New member for the slot, or null to empty it
+     * @return The new vector
+     */
+    MemberVector set(int slot, Member member) {
+        Member old = get(slot);
+        int live = liveCount - (old != null ? 1 : 0) + (member != null ? 1 : 0);
+        return new MemberVector(slotCount, live, shift, assoc(root, shift, slot, member, false));
+    }
+
+    /**
+     * Copies the path to a slot and stores the member at its end.
+     *
+     * @param node  Node at this level (null if it does not exist yet)
+     * @param level Bit shift for this level (0 for leaves)
+     * @param slot  Slot number
+     * @param owned true if the node is already a fresh copy and may be written
+     */
+    private static Object[] assoc(Object[] node, int level, int slot, Member member, boolean owned) {
+        Object[] copy;
+        if (node == null) {
+            copy = new Object[WIDTH];
+        } else {
+            copy = owned ? node : node.clone();
+        }
+
+        if (level == 0) {
+            copy[slot & MASK] = member;
+        } else {
+            int index = (slot >>> level) & MASK;
+            copy[index] = assoc((Object[]) copy[index], level - BITS, slot, member, false);
+        }
+        return copy;
+    }
+
+    /**
+     * Builds a vector without empty slots, keeping member order.
+     *
+     * @return Compacted vector
+     */
+    MemberVector compact() {
+        MemberVector result = EMPTY;
+        for (int slot = 0; slot < slotCount; slot++) {
+            Member member = get(slot);
+            if (member != null) {
+                result = result.append(member);
+            }
+        }
+        return result;
+    }
+}
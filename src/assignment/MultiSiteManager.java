@@ -0,0 +1,343 @@
+package assignment;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Manages the members of several gyms (sites), one MemberManager per site.
+ * Each site has its own data file, indexes and statistics, so sites are
+ * loaded, saved and searched independently of each other.
+ *
+ * Cross-site queries run on every site at the same time and merge the
+ * results in site order. addMember only adds a member if no site has the ID
+ * yet, and loadAll reports IDs that are in more than one site's file. Site
+ * files edited elsewhere, or changes made through a site's own manager,
+ * can still give two sites the same ID; lookups by ID then find the member
+ * of the first site.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class MultiSiteManager {
+    // Sites in the order they were added, which is also the order of results
+    private final Map<String, MemberManager> sites = new LinkedHashMap<>();
+    private final ExecutorService workers;
+
+    /**
+     * Constructor for MultiSiteManager.
+     *
+     * @param threads Number of sites queried at the same time (at least 1)
+     */
+    public MultiSiteManager(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "site-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds a site. Its members are read by loadAll().
+     *
+     * @param name     Site name (unique, case-insensitive)
+     * @param filePath The site's data file
+     * @throws IllegalArgumentException if the name is empty or taken
+     */
+    public synchronized void addSite(String name, String filePath) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Site name cannot be empty");
+        }
+        if (findSiteName(name) != null) {
+            throw new IllegalArgumentException("Site " + name.trim() + " already exists");
+        }
+        MemberManager site = new MemberManager(filePath);
+        // Sites run in parallel; per-member messages would interleave, so
+        // cross-site output such as letters is printed after the fan-in
+        site.setVerbose(false);
+        sites.put(name.trim(), site);
+    }
+
+    /**
+     * Returns the manager of one site, for site-specific changes. Members
+     * added through it are not checked against the other sites; use
+     * addMember for that.
+     *
+     * @param name Site name
+     * @return The site's manager
+     * @throws IllegalArgumentException if there is no such site
+     */
+    public synchronized MemberManager getSite(String name) {
+        String key = findSiteName(name);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown site: " + name);
+        }
+        return sites.get(key);
+    }
+
+    public synchronized List<String> getSiteNames() {
+        return new ArrayList<>(sites.keySet());
+    }
+
+    private String findSiteName(String name) {
+        for (String site : sites.keySet()) {
+            if (site.equalsIgnoreCase(name.trim())) {
+                return site;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads every site from its data file, all sites at the same time. A site
+     * whose file does not exist yet starts empty. Member IDs found at more
+     * than one site are reported.
+     *
+     * @return Number of member IDs found at more than one site
+     */
+    public int loadAll() {
+        List<String> names = getSiteNames();
+        List<Integer> counts = fanOut(site -> {
+            createIfMissing(site.getFilePath());
+            site.loadFromFile();
+            return site.getMemberCount();
+        });
+        for (int i = 0; i < names.size(); i++) {
+            System.out.println("✓ " + names.get(i) + ": " + counts.get(i) + " members");
+        }
+        return reportDuplicateIds(names);
+    }
+
+    /**
+     * Reports member IDs that more than one site has.
+     *
+     * @param names The sites, in order
+     * @return Number of IDs at more than one site
+     */
+    private int reportDuplicateIds(List<String> names) {
+        Map<String, String> firstSite = new HashMap<>();
+        List<String> duplicates = new ArrayList<>();
+        for (String name : names) {
+            for (Member member : getSite(name).snapshot()) {
+                String other = firstSite.putIfAbsent(MemberManager.idKey(member.getId()), name);
+                if (other != null && !other.equals(name)) {
+                    duplicates.add(member.getId() + " (" + other + ", " + name + ")");
+                }
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            System.err.println("⚠ " + duplicates.size() + " member ID(s) are used at more than one site;"
+                    + " lookups by ID find the first site's member: "
+                    + String.join(", ", duplicates.subList(0, Math.min(10, duplicates.size())))
+                    + (duplicates.size() > 10 ? ", ..." : ""));
+        }
+        return duplicates.size();
+    }
+
+    /**
+     * Writes an empty data file for a new site, so that loading it does not
+     * report a missing file.
+     */
+    private static void createIfMissing(String filePath) {
+        Path path = Path.of(filePath);
+        if (Files.exists(path)) {
+            return;
+        }
+        try {
+            Files.write(path, Collections.singletonList(MemberManager.CSV_HEADER), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("✗ Error creating " + filePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves every site to its data file, all sites at the same time.
+     */
+    public void saveAll() {
+        fanOut(site -> {
+            site.saveToFile();
+            return null;
+        });
+    }
+
+    /**
+     * Adds a member to a site.
+     *
+     * @param siteName Site the member belongs to
+     * @param member   The member to add
+     * @throws IllegalArgumentException if the site is unknown or any site
+     *                                  already has a member with the ID
+     */
+    public synchronized void addMember(String siteName, Member member) {
+        MemberManager site = getSite(siteName);
+        if (member == null) {
+            throw new IllegalArgumentException("Cannot add null member");
+        }
+        String existing = findSite(member.getId());
+        if (existing != null) {
+            throw new IllegalArgumentException("Member with ID " + member.getId() + " already exists at " + existing);
+        }
+        site.addMember(member);
+    }
+
+    /**
+     * Finds a member by ID at any site; if several sites have the ID, the
+     * member of the first of them.
+     *
+     * @param id The member ID
+     * @return The member, or null if no site has it
+     */
+    public Member getById(String id) {
+        for (Member member : fanOut(site -> site.getById(id))) {
+            if (member != null) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the site that has a member; if several sites have the ID, the
+     * first of them.
+     *
+     * @param id The member ID
+     * @return Site name, or null if no site has the ID
+     */
+    public String findSite(String id) {
+        List<String> names = getSiteNames();
+        List<Member> found = fanOut(site -> site.getById(id));
+        for (int i = 0; i < found.size(); i++) {
+            if (found.get(i) != null) {
+                return names.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches all sites by name (partial match, case-insensitive).
+     *
+     * @param query The search query
+     * @return Matching members, site by site
+     */
+    public List<Member> searchByName(String query) {
+        return merge(fanOut(site -> site.searchByName(query)));
+    }
+
+    /**
+     * Searches all sites for members within a performance rating range.
+     *
+     * @param minRating Minimum performance rating (inclusive)
+     * @param maxRating Maximum performance rating (inclusive)
+     * @return Matching members, site by site
+     */
+    public List<Member> searchByPerformance(int minRating, int maxRating) {
+        return merge(fanOut(site -> site.searchByPerformance(minRating, maxRating)));
+    }
+
+    /**
+     * Issues reminder letters at every site. Recipients are selected at all
+     * sites in parallel; the letters are printed afterwards, site by site,
+     * since the sites themselves run without per-member messages.
+     *
+     * @param maxRating Maximum performance rating to receive reminder
+     * @return Number of reminders sent across all sites
+     */
+    public int issueReminderLetters(int maxRating) {
+        List<List<Member>> recipients = fanOut(site -> site.searchByPerformance(0, maxRating));
+        System.out.println("\n ISSUING REMINDER LETTERS ");
+        return printLetters("📧 Reminder sent to", "reminders", recipients);
+    }
+
+    /**
+     * Issues appreciation letters at every site, printed site by site as for
+     * reminders.
+     *
+     * @param minRating Minimum performance rating to receive appreciation
+     * @return Number of appreciations sent across all sites
+     */
+    public int issueAppreciationLetters(int minRating) {
+        List<List<Member>> recipients = fanOut(site -> site.searchByPerformance(minRating, 100));
+        System.out.println("\n ISSUING APPRECIATION LETTERS");
+        return printLetters("🎉 Appreciation sent to", "appreciations", recipients);
+    }
+
+    /**
+     * Returns the number of members across all sites.
+     */
+    public int getMemberCount() {
+        int total = 0;
+        for (int count : fanOut(MemberManager::getMemberCount)) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Prints the letters of every site with a per-site count and returns the total.
+     */
+    private int printLetters(String letter, String what, List<List<Member>> recipients) {
+        List<String> names = getSiteNames();
+        int total = 0;
+        for (int i = 0; i < recipients.size(); i++) {
+            System.out.println("─── " + names.get(i) + " ───");
+            for (Member member : recipients.get(i)) {
+                System.out.printf("%s: %s (Rating: %d)\n", letter, member.getName(), member.getPerformanceRating());
+            }
+            System.out.println("  " + names.get(i) + ": " + recipients.get(i).size() + " " + what);
+            total += recipients.get(i).size();
+        }
+        System.out.println("✓ Total " + what + " sent: " + total);
+        return total;
+    }
+
+    private static List<Member> merge(List<List<Member>> perSite) {
+        int size = 0;
+        for (List<Member> results : perSite) {
+            size += results.size();
+        }
+        List<Member> merged = new ArrayList<>(size);
+        for (List<Member> results : perSite) {
+            merged.addAll(results);
+        }
+        return merged;
+    }
+
+    /**
+     * Runs a query on every site in parallel.
+     *
+     * @return The results in site order
+     */
+    private <T> List<T> fanOut(Function<MemberManager, T> query) {
+        List<MemberManager> targets;
+        synchronized (this) {
+            targets = new ArrayList<>(sites.values());
+        }
+        List<Future<T>> pending = new ArrayList<>(targets.size());
+        for (MemberManager site : targets) {
+            pending.add(workers.submit(() -> query.apply(site)));
+        }
+
+        List<T> results = new ArrayList<>(targets.size());
+        for (Future<T> result : pending) {
+            try {
+                results.add(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while querying sites");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Site query failed: " + e.getCause(), e.getCause());
+            }
+        }
+        return results;
+    }
+}
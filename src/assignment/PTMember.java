@@ -52,7 +52,7 @@ public class PTMember extends Member {
      * Calculates the monthly fee for a PT member.
      * Demonstrates polymorphism - overrides the abstract method from Member class.
      * 
-     * Fee Calculation:
+     * Fee Calculation (default rules, see FeeRules):
      * - Base fee + trainer fee
      * - Performance >= 90: 15% discount
      * - Performance >= 75: 8% discount
@@ -62,30 +62,28 @@ public class PTMember extends Member {
      */
     @Override
     public double calculateFee() {
-        double fee = getBaseFee() + trainerFee;
-
-        // Apply performance-based discounts
-        if (getPerformanceRating() >= 90) {
-            fee *= 0.85; // 15% discount
-        } else if (getPerformanceRating() >= 75) {
-            fee *= 0.92; // 8% discount
-        }
-
-        // Apply goal achievement discount
-        if (isAchievedGoal()) {
-            fee *= 0.95; // Additional 5% discount
-        }
+        return FeeRules.current().apply(MemberStats.PT, getBaseFee() + trainerFee,
+                getPerformanceRating(), isAchievedGoal());
+    }
 
-        return fee;
+    @Override
+    public Member copy() {
+        Member copy = fromCSVParts(getId(), getName(), getAge(), getBaseFee(),
+                getPerformanceRating(), isAchievedGoal(), trainerFee);
+        copy.setRatingHistory(getRatingHistory());
+        return copy;
     }
 
     /**
      * Converts member data to CSV format for file storage.
+     * A rating history, if any, follows the trainer fee.
      * 
      * @return CSV string representation
      */
     public String toCSV() {
-        return "PT," + toCSVBase() + "," + String.format("%.2f", trainerFee);
+        String history = ratingHistoryCSV();
+        return "PT," + toCSVBase() + "," + String.format("%.2f", trainerFee)
+                + (history.isEmpty() ? "" : "," + history);
     }
 
     /**
@@ -0,0 +1,176 @@
+package assignment;
+
+/**
+ * Keeps the most recent performance ratings of a member with their timestamps.
+ * Ratings are stored in a circular buffer of primitive arrays (one byte per
+ * rating, one long per timestamp), so no boxed objects are created. Storage
+ * is allocated on the first recorded change and grows up to CAPACITY entries;
+ * after that the oldest entry is overwritten.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class RatingHistory {
+    public static final int CAPACITY = 10;
+    // Timestamp used for a rating whose time of change is not known
+    public static final long UNKNOWN_TIME = 0;
+
+    private byte[] ratings;
+    private long[] timestamps;
+    private int start; // index of the oldest entry
+    private int size;
+
+    /**
+     * Records a rating at the end of the history.
+     *
+     * @param rating    Performance rating (0-100)
+     * @param timestamp Time of the change in epoch milliseconds
+     */
+    void record(int rating, long timestamp) {
+        if (ratings == null) {
+            ratings = new byte[2];
+            timestamps = new long[2];
+        } else if (size == ratings.length && size < CAPACITY) {
+            grow();
+        }
+
+        int index;
+        if (size < ratings.length) {
+            index = (start + size) % ratings.length;
+            size++;
+        } else {
+            index = start;
+            start = (start + 1) % ratings.length;
+        }
+        ratings[index] = (byte) rating;
+        timestamps[index] = timestamp;
+    }
+
+    private void grow() {
+        int capacity = Math.min(CAPACITY, ratings.length * 2);
+        byte[] newRatings = new byte[capacity];
+        long[] newTimestamps = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % ratings.length;
+            newRatings[i] = ratings[index];
+            newTimestamps[i] = timestamps[index];
+        }
+        ratings = newRatings;
+        timestamps = newTimestamps;
+        start = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a rating by age.
+     *
+     * @param i Position in the history (0 is the oldest entry)
+     * @return The rating at that position
+     */
+    public int getRating(int i) {
+        checkIndex(i);
+        return ratings[(start + i) % ratings.length];
+    }
+
+    /**
+     * Returns the time a rating was recorded.
+     *
+     * @param i Position in the history (0 is the oldest entry)
+     * @return Epoch milliseconds, or UNKNOWN_TIME
+     */
+    public long getTimestamp(int i) {
+        checkIndex(i);
+        return timestamps[(start + i) % ratings.length];
+    }
+
+    public int getLatestRating() {
+        return getRating(size - 1);
+    }
+
+    /**
+     * Measures how far the rating fell over the last few updates.
+     *
+     * @param updates Number of most recent updates to consider
+     * @return Highest rating in that window minus the latest rating (0 if none)
+     */
+    public int getDrop(int updates) {
+        if (size < 2 || updates <= 0) {
+            return 0;
+        }
+        int from = Math.max(0, size - 1 - updates);
+        int peak = 0;
+        for (int i = from; i < size; i++) {
+            peak = Math.max(peak, ratings[(start + i) % ratings.length]);
+        }
+        return peak - getLatestRating();
+    }
+
+    /**
+     * Creates an independent copy of this history.
+     *
+     * @return A new history with the same entries
+     */
+    public RatingHistory copy() {
+        RatingHistory copy = new RatingHistory();
+        for (int i = 0; i < size; i++) {
+            copy.record(getRating(i), getTimestamp(i));
+        }
+        return copy;
+    }
+
+    /**
+     * Encodes the history for file storage as "rating@time;rating@time".
+     *
+     * @return Encoded history, oldest entry first (empty if no entries)
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder(size * 18);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(';');
+            }
+            sb.append(getRating(i)).append('@').append(getTimestamp(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes a history written by encode().
+     *
+     * @param encoded Encoded history (may be empty)
+     * @return The decoded history
+     * @throws IllegalArgumentException if the text is malformed
+     */
+    public static RatingHistory decode(String encoded) {
+        RatingHistory history = new RatingHistory();
+        if (encoded == null || encoded.trim().isEmpty()) {
+            return history;
+        }
+
+        for (String entry : encoded.trim().split(";")) {
+            int at = entry.indexOf('@');
+            if (at < 0) {
+                throw new IllegalArgumentException("Invalid rating history entry: " + entry);
+            }
+            int rating = Integer.parseInt(entry.substring(0, at).trim());
+            if (rating < 0 || rating > 100) {
+                throw new IllegalArgumentException("Performance rating must be between 0 and 100");
+            }
+            history.record(rating, Long.parseLong(entry.substring(at + 1).trim()));
+        }
+        return history;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Rating history index " + i + " out of range (size " + size + ")");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package assignment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Checksums of the data file format.
+ * <pre>
+ * REGULAR,M001,John Smith,25,50.00,85,true*3f6a01c2
+ * ...
+ * #BLOCK,0,4096,9b2d44e0
+ * </pre>
+ * Every record ends with '*' and the CRC-32 of the record's UTF-8 bytes in
+ * eight hex digits. After every BLOCK_SIZE records (and after the last) a
+ * marker line gives the block number, its record count and the CRC-32 of
+ * the records' checksums, so lost, repeated or reordered lines are found as
+ * well as changed ones. Lines without a checksum, as in older files or
+ * lines added in a text editor, are read as plain records and are not part
+ * of any block checksum.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class RecordChecksums {
+    static final int BLOCK_SIZE = 4096;
+    static final String MARKER_PREFIX = "#BLOCK,";
+    // '*' plus eight hex digits
+    static final int SUFFIX_LENGTH = 9;
+
+    private RecordChecksums() {
+    }
+
+    /**
+     * Accumulates the checksum of one block from its records' checksums.
+     */
+    static final class Block {
+        private final CRC32 crc = new CRC32();
+        private int records;
+
+        void add(int recordChecksum) {
+            crc.update(recordChecksum >>> 24);
+            crc.update(recordChecksum >>> 16);
+            crc.update(recordChecksum >>> 8);
+            crc.update(recordChecksum);
+            records++;
+        }
+
+        int getRecords() {
+            return records;
+        }
+
+        int getChecksum() {
+            return (int) crc.getValue();
+        }
+
+        void reset() {
+            crc.reset();
+            records = 0;
+        }
+
+        /**
+         * Returns the marker line that closes this block.
+         */
+        String marker(long index) {
+            return MARKER_PREFIX + index + "," + records + "," + hex(getChecksum());
+        }
+
+        /**
+         * Compares the block with its marker line.
+         *
+         * @return null if they match, otherwise the reason
+         */
+        String check(String marker) {
+            String[] fields = marker.split(",");
+            if (fields.length != 4) {
+                return "damaged block marker";
+            }
+            try {
+                if (Integer.parseInt(fields[2]) != records) {
+                    return "block has " + records + " records, marker says " + fields[2];
+                }
+                if (parseHex(fields[3], 0, fields[3].length()) != getChecksum()) {
+                    return "block checksum mismatch";
+                }
+            } catch (NumberFormatException e) {
+                return "damaged block marker";
+            }
+            return null;
+        }
+    }
+
+    static boolean isMarker(String line) {
+        return line.startsWith(MARKER_PREFIX);
+    }
+
+    /**
+     * Returns the block number of a marker line.
+     *
+     * @return Block number, or -1 if the marker is damaged
+     */
+    static long markerIndex(String marker) {
+        int end = marker.indexOf(',', MARKER_PREFIX.length());
+        try {
+            return Long.parseLong(marker.substring(MARKER_PREFIX.length(), end < 0 ? marker.length() : end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Checks whether a line ends with a record checksum.
+     */
+    static boolean hasChecksum(String line) {
+        int star = line.length() - SUFFIX_LENGTH;
+        if (star < 0 || line.charAt(star) != '*') {
+            return false;
+        }
+        for (int i = star + 1; i < line.length(); i++) {
+            if (Character.digit(line.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the checksum stored at the end of a line; hasChecksum must be true.
+     */
+    static int storedChecksum(String line) {
+        return parseHex(line, line.length() - SUFFIX_LENGTH + 1, line.length());
+    }
+
+    /**
+     * Verifies a record's checksum and removes it.
+     *
+     * @param line A record, with or without checksum
+     * @return The record without checksum
+     * @throws IllegalArgumentException if the checksum does not match
+     */
+    static String strip(String line) {
+        if (!hasChecksum(line)) {
+            return line;
+        }
+        String record = line.substring(0, line.length() - SUFFIX_LENGTH);
+        if (checksum(record) != storedChecksum(line)) {
+            throw new IllegalArgumentException("Record checksum mismatch");
+        }
+        return record;
+    }
+
+    /**
+     * Returns a record with its checksum appended.
+     */
+    static String append(String record) {
+        return record + "*" + hex(checksum(record));
+    }
+
+    static int checksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    static String hex(int value) {
+        String digits = Integer.toHexString(value);
+        return "00000000".substring(digits.length()) + digits;
+    }
+
+    static int parseHex(CharSequence text, int from, int to) {
+        if (to - from != 8) {
+            throw new NumberFormatException("Checksum must have 8 hex digits");
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) {
+                throw new NumberFormatException("Invalid hex digit");
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+}
@@ -25,29 +25,34 @@ public class RegularMember extends Member {
     /**
      * Calculates the monthly fee for a regular member.
      * Demonstrates polymorphism - overrides the abstract method from Member class.
-     * Applies 10% discount if fitness goal is achieved.
+     * Discounts come from the current fee rules (see FeeRules); by default
+     * a 10% discount applies if the fitness goal is achieved.
      * 
      * @return The calculated monthly fee
      */
     @Override
     public double calculateFee() {
-        double fee = getBaseFee();
-
-        // Apply 10% discount if goal is achieved
-        if (isAchievedGoal()) {
-            fee *= 0.90;
-        }
+        return FeeRules.current().apply(MemberStats.REGULAR, getBaseFee(),
+                getPerformanceRating(), isAchievedGoal());
+    }
 
-        return fee;
+    @Override
+    public Member copy() {
+        Member copy = fromCSV(getId(), getName(), getAge(), getBaseFee(),
+                getPerformanceRating(), isAchievedGoal());
+        copy.setRatingHistory(getRatingHistory());
+        return copy;
     }
 
     /**
      * Converts member data to CSV format for file storage.
+     * A rating history, if any, follows an empty trainer fee column.
      * 
      * @return CSV string representation
      */
     public String toCSV() {
-        return "REGULAR," + toCSVBase();
+        String history = ratingHistoryCSV();
+        return "REGULAR," + toCSVBase() + (history.isEmpty() ? "" : ",," + history);
     }
 
     /**
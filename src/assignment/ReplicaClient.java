@@ -0,0 +1,213 @@
+package assignment;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Keeps a read-only MemberManager in step with a ReplicationPrimary.
+ * A daemon thread connects to the primary, installs the snapshot it sends
+ * and applies the change events that follow. If the connection is lost it
+ * reconnects every few seconds and catches up from a new snapshot.
+ *
+ * Replication lag is reported as the number of primary events not applied
+ * yet and as the delay between a change on the primary and its application
+ * here (both processes run on the same machine, so their clocks agree).
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class ReplicaClient implements Closeable {
+    private static final long RECONNECT_MILLIS = 2000;
+
+    private final MemberManager manager;
+    private final String host;
+    private final int port;
+    private final Thread thread;
+    private volatile Socket socket;
+    private volatile boolean open = true;
+
+    // Replication state, written by the client thread only
+    private volatile boolean connected;
+    private volatile long appliedSequence;
+    private volatile long primarySequence;
+    private volatile long lastDelayMillis;
+    private volatile long eventsApplied;
+    private volatile int snapshotsLoaded;
+
+    /**
+     * Makes the manager read-only and starts replicating into it.
+     *
+     * @param manager The replica's manager; its members are replaced
+     * @param host    Primary host name
+     * @param port    Primary replication port
+     */
+    public ReplicaClient(MemberManager manager, String host, int port) {
+        this.manager = manager;
+        this.host = host;
+        this.port = port;
+        manager.setReadOnly(true);
+
+        this.thread = new Thread(this::run, "replica-" + port);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        boolean reported = false;
+        while (open) {
+            try (Socket connection = new Socket(host, port)) {
+                socket = connection;
+                reported = false;
+                connected = true;
+                receive(new BufferedReader(new InputStreamReader(
+                        connection.getInputStream(), StandardCharsets.UTF_8), MemberFileIO.BUFFER_SIZE));
+            } catch (IOException | RuntimeException e) {
+                if (open && !reported) {
+                    System.err.println("⚠ Replica: primary " + host + ":" + port + " unavailable ("
+                            + e.getMessage() + "); retrying");
+                    reported = true;
+                }
+            } finally {
+                connected = false;
+            }
+
+            try {
+                Thread.sleep(RECONNECT_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies messages from the primary until the connection closes.
+     */
+    private void receive(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            int space = line.indexOf(' ');
+            String command = space < 0 ? line : line.substring(0, space);
+            String[] fields = line.split(" ", 4);
+
+            switch (command) {
+                case "SNAPSHOT":
+                    installSnapshot(in, Long.parseLong(fields[1]), Integer.parseInt(fields[2]));
+                    break;
+                case "HEARTBEAT":
+                    primarySequence = Math.max(primarySequence, Long.parseLong(fields[1]));
+                    break;
+                case "ADD":
+                case "UPDATE":
+                case "DELETE":
+                    long sequence = Long.parseLong(fields[1]);
+                    manager.applyReplicated(MemberEvent.Type.valueOf(command), parseMember(fields[3]));
+                    appliedSequence = sequence;
+                    primarySequence = Math.max(primarySequence, sequence);
+                    lastDelayMillis = Math.max(0, System.currentTimeMillis() - Long.parseLong(fields[2]));
+                    eventsApplied++;
+                    break;
+                default:
+                    throw new IOException("Unexpected replication message: " + command);
+            }
+        }
+    }
+
+    private void installSnapshot(BufferedReader in, long sequence, int count) throws IOException {
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String line = in.readLine();
+            if (line == null) {
+                throw new EOFException("Snapshot ended after " + i + " of " + count + " members");
+            }
+            members.add(parseMember(line));
+        }
+        manager.installReplica(members);
+        appliedSequence = sequence;
+        primarySequence = Math.max(primarySequence, sequence);
+        snapshotsLoaded++;
+        System.out.println("✓ Replica: loaded snapshot of " + count + " members at sequence " + sequence);
+    }
+
+    private static Member parseMember(String json) throws IOException {
+        Member member = new MemberJsonReader(new StringReader(json), json.length() + 1).next();
+        if (member == null) {
+            throw new IOException("Missing member in replication message");
+        }
+        return member;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Returns the primary's sequence number of the last change applied here.
+     *
+     * @return Applied sequence number
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Returns how many primary events have not been applied yet, as far as
+     * the last event or heartbeat from the primary shows.
+     *
+     * @return Lag in events
+     */
+    public long getLagEvents() {
+        return Math.max(0, primarySequence - appliedSequence);
+    }
+
+    /**
+     * Returns the time between the last applied change being made on the
+     * primary and being applied here.
+     *
+     * @return Lag in milliseconds
+     */
+    public long getLagMillis() {
+        return lastDelayMillis;
+    }
+
+    public long getEventsApplied() {
+        return eventsApplied;
+    }
+
+    /**
+     * Returns how many snapshots were loaded: one per connection, plus one
+     * after every overrun or bulk load on the primary.
+     *
+     * @return Snapshot count
+     */
+    public int getSnapshotsLoaded() {
+        return snapshotsLoaded;
+    }
+
+    /**
+     * Returns a one-line description of the replication state.
+     *
+     * @return Status text
+     */
+    public String getStatus() {
+        if (!connected) {
+            return String.format("Replica of %s:%d: disconnected, retrying (sequence %d)", host, port, appliedSequence);
+        }
+        return String.format("Replica of %s:%d: sequence %d, lag %d events / %d ms, %d events, %d snapshots",
+                host, port, appliedSequence, getLagEvents(), lastDelayMillis, eventsApplied, snapshotsLoaded);
+    }
+
+    /**
+     * Disconnects from the primary. The manager stays read-only.
+     */
+    @Override
+    public void close() throws IOException {
+        open = false;
+        thread.interrupt();
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package assignment;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Streams a manager's changes to replicas over local TCP connections.
+ *
+ * Each replica first receives a snapshot of all members and then every
+ * change event published after it, so it holds the same members as the
+ * primary. The protocol is line-based UTF-8 text; members are NDJSON
+ * objects as written by MemberJsonWriter:
+ * <pre>
+ * SNAPSHOT sequence count      followed by count member lines
+ * ADD sequence timestamp {member}
+ * UPDATE sequence timestamp {member after the change}
+ * DELETE sequence timestamp {member before the change}
+ * HEARTBEAT sequence timestamp  (last sequence of the primary, once a second)
+ * </pre>
+ * A replica whose connection falls so far behind that the event ring is
+ * overrun, and every replica after a load or import on the primary (a
+ * BULK_LOAD event), is sent a fresh snapshot instead of the missed events.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class ReplicationPrimary implements Closeable {
+    static final long HEARTBEAT_MILLIS = 1000;
+
+    private final MemberManager manager;
+    private final ServerSocket server;
+    private final List<Socket> replicas = new CopyOnWriteArrayList<>();
+    private volatile boolean open = true;
+
+    /**
+     * Starts accepting replicas on the loopback interface.
+     *
+     * @param manager The manager whose members are replicated
+     * @param port    TCP port to listen on (0 picks a free port)
+     * @throws IOException if the port cannot be opened
+     */
+    public ReplicationPrimary(MemberManager manager, int port) throws IOException {
+        this.manager = manager;
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+
+        Thread acceptor = new Thread(this::acceptReplicas, "replication-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port replicas connect to.
+     *
+     * @return Listening port
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Returns the number of connected replicas.
+     *
+     * @return Replica count
+     */
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    private void acceptReplicas() {
+        while (open) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                replicas.add(socket);
+                Thread session = new Thread(() -> serve(socket), "replication-" + socket.getPort());
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                if (open) {
+                    System.err.println("⚠ Replication: could not accept replica: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends a snapshot and then the change stream to one replica until it
+     * disconnects or the primary is closed.
+     */
+    private void serve(Socket socket) {
+        String replica = socket.getRemoteSocketAddress().toString();
+        System.out.println("✓ Replica connected: " + replica);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                socket.getOutputStream(), StandardCharsets.UTF_8), MemberFileIO.BUFFER_SIZE)) {
+            Session session = new Session(out);
+            while (open && !session.failed) {
+                session.resync = false;
+                MemberSnapshot snapshot = manager.snapshot();
+                synchronized (out) {
+                    session.writeSnapshot(snapshot);
+                }
+
+                // Events since the snapshot are replayed from the ring
+                try (MemberEventBus.Subscription subscription =
+                        manager.getEventBus().subscribe(session, snapshot.getSequence() + 1)) {
+                    session.subscription = subscription;
+                    session.awaitResync(manager.getEventBus());
+                }
+            }
+        } catch (IOException e) {
+            // Connection lost; the replica reconnects and starts from a new snapshot
+        } finally {
+            replicas.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+            if (open) {
+                System.out.println("⚠ Replica disconnected: " + replica);
+            }
+        }
+    }
+
+    /**
+     * Event listener for one replica connection. Writes events as they are
+     * delivered and asks the session thread for a new snapshot when events
+     * cannot be replayed.
+     */
+    private final class Session implements MemberEventListener {
+        private final Writer out;
+        private final MemberJsonWriter json;
+        volatile MemberEventBus.Subscription subscription;
+        volatile boolean resync;
+        volatile boolean failed;
+
+        Session(Writer out) throws IOException {
+            this.out = out;
+            this.json = new MemberJsonWriter(out, true);
+        }
+
+        void writeSnapshot(MemberSnapshot snapshot) throws IOException {
+            out.write("SNAPSHOT " + snapshot.getSequence() + " " + snapshot.size() + "\n");
+            for (Member member : snapshot) {
+                json.write(member);
+            }
+            out.flush();
+        }
+
+        @Override
+        public void onEvent(MemberEvent event) {
+            if (event.getType() == MemberEvent.Type.BULK_LOAD) {
+                requestResync();
+                return;
+            }
+            synchronized (out) {
+                if (resync || failed) {
+                    return;
+                }
+                try {
+                    out.write(event.getType().name());
+                    out.write(" " + event.getSequence() + " " + event.getTimestamp() + " ");
+                    json.write(event.getType() == MemberEvent.Type.DELETE ? event.getBefore() : event.getAfter());
+                    // Flush once the backlog is written, not after every event
+                    MemberEventBus.Subscription current = subscription;
+                    if (current == null || current.getLag() <= 1) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    failed = true;
+                    out.notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public void onOverrun(long firstMissed, long resumeAt) {
+            requestResync();
+        }
+
+        private void requestResync() {
+            synchronized (out) {
+                resync = true;
+                out.notifyAll();
+            }
+        }
+
+        /**
+         * Sends heartbeats until a new snapshot is needed or writing fails.
+         */
+        void awaitResync(MemberEventBus events) throws IOException {
+            synchronized (out) {
+                while (open && !resync && !failed) {
+                    try {
+                        out.wait(HEARTBEAT_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed = true;
+                        return;
+                    }
+                    if (!resync && !failed) {
+                        out.write("HEARTBEAT " + events.getLastSequence() + " " + System.currentTimeMillis() + "\n");
+                        out.flush();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting replicas and disconnects the connected ones.
+     */
+    @Override
+    public void close() throws IOException {
+        open = false;
+        server.close();
+        for (Socket socket : replicas) {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package assignment;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Compressed set of member slot numbers.
+ *
+ * Slots are split into chunks of 65536. A chunk with few slots stores them
+ * as a sorted array of 16-bit offsets; a fuller chunk stores a 1024-word
+ * bitset; an empty chunk stores nothing. AND, OR and AND NOT combine two
+ * bitmaps chunk by chunk, 64 slots per word operation, and produce a new
+ * bitmap.
+ *
+ * Not thread-safe; MemberManager keeps its bitmaps under its own lock.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+final class SlotBitmap {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+    private static final int WORDS = (1 << CHUNK_BITS) / 64;
+    // Above this many slots an array chunk becomes a bitset (both are 8 KB then)
+    private static final int ARRAY_MAX = 4096;
+    // A bitset chunk shrinks back to an array below this, so a chunk near
+    // the limit does not switch form on every change
+    private static final int ARRAY_MIN = ARRAY_MAX / 2;
+
+    /**
+     * One chunk: either values (sorted offsets) or words (bitset) is set.
+     */
+    private static final class Chunk {
+        char[] values;
+        long[] words;
+        int cardinality;
+
+        boolean contains(int offset) {
+            if (words != null) {
+                return (words[offset >>> 6] & (1L << offset)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, (char) offset) >= 0;
+        }
+
+        /**
+         * Returns the chunk as a bitset, in a new array for array chunks.
+         */
+        long[] toWords() {
+            if (words != null) {
+                return words;
+            }
+            long[] bits = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            return bits;
+        }
+    }
+
+    private Chunk[] chunks = new Chunk[0];
+
+    /**
+     * Adds a slot.
+     *
+     * @return true if the slot was not in the set
+     */
+    boolean add(int slot) {
+        int index = slot >>> CHUNK_BITS;
+        if (index >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(index + 1, chunks.length * 2));
+        }
+        Chunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunk.values = new char[4];
+            chunks[index] = chunk;
+        }
+
+        int offset = slot & CHUNK_MASK;
+        if (chunk.words != null) {
+            long bit = 1L << offset;
+            if ((chunk.words[offset >>> 6] & bit) != 0) {
+                return false;
+            }
+            chunk.words[offset >>> 6] |= bit;
+            chunk.cardinality++;
+            return true;
+        }
+
+        int position = Arrays.binarySearch(chunk.values, 0, chunk.cardinality, (char) offset);
+        if (position >= 0) {
+            return false;
+        }
+        if (chunk.cardinality == ARRAY_MAX) {
+            chunk.words = chunk.toWords();
+            chunk.values = null;
+            chunk.words[offset >>> 6] |= 1L << offset;
+            chunk.cardinality++;
+            return true;
+        }
+        position = -position - 1;
+        if (chunk.cardinality == chunk.values.length) {
+            chunk.values = Arrays.copyOf(chunk.values, Math.min(ARRAY_MAX, chunk.values.length * 2));
+        }
+        System.arraycopy(chunk.values, position, chunk.values, position + 1, chunk.cardinality - position);
+        chunk.values[position] = (char) offset;
+        chunk.cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes a slot.
+     *
+     * @return true if the slot was in the set
+     */
+    boolean remove(int slot) {
+        int index = slot >>> CHUNK_BITS;
+        Chunk chunk = index < chunks.length ? chunks[index] : null;
+        int offset = slot & CHUNK_MASK;
+        if (chunk == null || !chunk.contains(offset)) {
+            return false;
+        }
+
+        if (chunk.words != null) {
+            chunk.words[offset >>> 6] &= ~(1L << offset);
+            if (--chunk.cardinality < ARRAY_MIN) {
+                chunks[index] = fromWords(chunk.words, chunk.cardinality);
+            }
+        } else {
+            int position = Arrays.binarySearch(chunk.values, 0, chunk.cardinality, (char) offset);
+            System.arraycopy(chunk.values, position + 1, chunk.values, position, chunk.cardinality - position - 1);
+            if (--chunk.cardinality == 0) {
+                chunks[index] = null;
+            }
+        }
+        return true;
+    }
+
+    boolean contains(int slot) {
+        int index = slot >>> CHUNK_BITS;
+        return index < chunks.length && chunks[index] != null && chunks[index].contains(slot & CHUNK_MASK);
+    }
+
+    /**
+     * Returns the number of slots in the set.
+     */
+    int cardinality() {
+        int total = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                total += chunk.cardinality;
+            }
+        }
+        return total;
+    }
+
+    void clear() {
+        chunks = new Chunk[0];
+    }
+
+    /**
+     * Returns the slots in both sets.
+     */
+    SlotBitmap and(SlotBitmap other) {
+        return combine(other, 0);
+    }
+
+    /**
+     * Returns the slots in either set.
+     */
+    SlotBitmap or(SlotBitmap other) {
+        return combine(other, 1);
+    }
+
+    /**
+     * Returns the slots in this set but not in the other.
+     */
+    SlotBitmap andNot(SlotBitmap other) {
+        return combine(other, 2);
+    }
+
+    private SlotBitmap combine(SlotBitmap other, int operation) {
+        SlotBitmap result = new SlotBitmap();
+        int length = Math.max(chunks.length, other.chunks.length);
+        result.chunks = new Chunk[length];
+        long[] words = new long[WORDS];
+
+        for (int index = 0; index < length; index++) {
+            Chunk a = index < chunks.length ? chunks[index] : null;
+            Chunk b = index < other.chunks.length ? other.chunks[index] : null;
+            if (a == null && (operation != 1 || b == null)) {
+                continue;
+            }
+            if (b == null && operation != 0) {
+                result.chunks[index] = copy(a);
+                continue;
+            }
+            if (b == null || (a == null ? 0 : a.cardinality) == 0) {
+                if (operation == 1) {
+                    result.chunks[index] = copy(b);
+                }
+                continue;
+            }
+
+            long[] left = a.toWords();
+            long[] right = b.toWords();
+            int cardinality = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word;
+                if (operation == 0) {
+                    word = left[i] & right[i];
+                } else if (operation == 1) {
+                    word = left[i] | right[i];
+                } else {
+                    word = left[i] & ~right[i];
+                }
+                words[i] = word;
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality > 0) {
+                result.chunks[index] = cardinality > ARRAY_MAX
+                        ? bitsetChunk(words.clone(), cardinality) : fromWords(words, cardinality);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the slots of this set that pass a test.
+     */
+    SlotBitmap select(IntPredicate test) {
+        SlotBitmap result = new SlotBitmap();
+        result.chunks = new Chunk[chunks.length];
+        long[] words = new long[WORDS];
+
+        for (int index = 0; index < chunks.length; index++) {
+            if (chunks[index] == null) {
+                continue;
+            }
+            long[] bits = chunks[index].toWords();
+            int base = index << CHUNK_BITS;
+            int cardinality = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = bits[i];
+                long kept = 0;
+                while (word != 0) {
+                    long bit = word & -word;
+                    if (test.test(base + i * 64 + Long.numberOfTrailingZeros(word))) {
+                        kept |= bit;
+                    }
+                    word ^= bit;
+                }
+                words[i] = kept;
+                cardinality += Long.bitCount(kept);
+            }
+            if (cardinality > 0) {
+                result.chunks[index] = cardinality > ARRAY_MAX
+                        ? bitsetChunk(words.clone(), cardinality) : fromWords(words, cardinality);
+            }
+        }
+        return result;
+    }
+
+    private static Chunk copy(Chunk chunk) {
+        Chunk copy = new Chunk();
+        copy.cardinality = chunk.cardinality;
+        if (chunk.words != null) {
+            copy.words = chunk.words.clone();
+        } else {
+            copy.values = Arrays.copyOf(chunk.values, chunk.cardinality);
+        }
+        return copy;
+    }
+
+    private static Chunk bitsetChunk(long[] words, int cardinality) {
+        Chunk chunk = new Chunk();
+        chunk.words = words;
+        chunk.cardinality = cardinality;
+        return chunk;
+    }
+
+    /**
+     * Builds an array chunk from a bitset.
+     */
+    private static Chunk fromWords(long[] words, int cardinality) {
+        if (cardinality == 0) {
+            return null;
+        }
+        Chunk chunk = new Chunk();
+        chunk.values = new char[cardinality];
+        chunk.cardinality = cardinality;
+        int position = 0;
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                chunk.values[position++] = (char) (i * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Lists the slots in ascending order.
+     *
+     * @param limit Maximum number of slots to return
+     * @return Slot numbers
+     */
+    int[] toArray(int limit) {
+        int[] slots = new int[Math.min(limit, cardinality())];
+        int position = 0;
+        for (int index = 0; index < chunks.length && position < slots.length; index++) {
+            Chunk chunk = chunks[index];
+            if (chunk == null) {
+                continue;
+            }
+            int base = index << CHUNK_BITS;
+            if (chunk.values != null) {
+                for (int i = 0; i < chunk.cardinality && position < slots.length; i++) {
+                    slots[position++] = base + chunk.values[i];
+                }
+            } else {
+                for (int i = 0; i < WORDS && position < slots.length; i++) {
+                    long word = chunk.words[i];
+                    while (word != 0 && position < slots.length) {
+                        slots[position++] = base + i * 64 + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,223 @@
+package assignment;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Checks that the table-driven fee rules give exactly the fees of the
+ * original hard-coded discounts, and that installing new rules rebuilds the
+ * statistics of every manager.
+ *
+ * The project has no build tool, so the tests run as a plain program from
+ * the project directory:
+ * <pre>
+ * javac -d out src/assignment/*.java test/assignment/*.java
+ * java -cp out assignment.FeeRulesTest
+ * </pre>
+ * The exit status is 1 if any check fails.
+ *
+ * @author [Your Group Members]
+ * @version 1.0
+ */
+public class FeeRulesTest {
+    private static final double[] EDGE_FEES = { 0.0, 0.01, 0.05, 1.0, 49.99, 50.0, 99.995, 100.0, 1234.56, 1e6 };
+    private static final int RANDOM_FEES_PER_CELL = 500;
+
+    private static int failures;
+
+    public static void main(String[] args) throws IOException {
+        try {
+            defaultRulesMatchLegacyFees();
+            shippedRulesFileMatchesLegacyFees();
+            membersUseInstalledRules();
+            installRebuildsEveryManager();
+            invalidRulesAreRejected();
+        } finally {
+            FeeRules.install(FeeRules.DEFAULT);
+        }
+
+        if (failures > 0) {
+            System.out.println("✗ " + failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("✓ All fee rule checks passed");
+    }
+
+    /**
+     * The fee of a regular member before fee rules existed.
+     */
+    private static double legacyRegularFee(double baseFee, boolean goal) {
+        double fee = baseFee;
+        if (goal) {
+            fee *= 0.90;
+        }
+        return fee;
+    }
+
+    /**
+     * The fee of a PT member before fee rules existed.
+     */
+    private static double legacyPtFee(double baseFee, double trainerFee, int rating, boolean goal) {
+        double fee = baseFee + trainerFee;
+        if (rating >= 90) {
+            fee *= 0.85;
+        } else if (rating >= 75) {
+            fee *= 0.92;
+        }
+        if (goal) {
+            fee *= 0.95;
+        }
+        return fee;
+    }
+
+    private static void defaultRulesMatchLegacyFees() {
+        checkParity("default rules", FeeRules.DEFAULT);
+    }
+
+    private static void shippedRulesFileMatchesLegacyFees() throws IOException {
+        Path shipped = Path.of("fee_rules.csv");
+        if (!Files.exists(shipped)) {
+            fail("fee_rules.csv not found; run the tests from the project directory");
+            return;
+        }
+        checkParity("fee_rules.csv", FeeRules.load(shipped));
+    }
+
+    /**
+     * Compares every (type, rating, goal) cell for edge and random fees bit
+     * for bit with the legacy formulas.
+     */
+    private static void checkParity(String name, FeeRules rules) {
+        Random random = new Random(37);
+        int mismatches = 0;
+        long checked = 0;
+
+        for (int rating = 0; rating <= 100; rating++) {
+            for (boolean goal : new boolean[] { false, true }) {
+                List<double[]> fees = new ArrayList<>();
+                for (double edge : EDGE_FEES) {
+                    fees.add(new double[] { edge, edge / 2 });
+                }
+                for (int i = 0; i < RANDOM_FEES_PER_CELL; i++) {
+                    fees.add(new double[] { Math.round(random.nextDouble() * 50000) / 100.0,
+                            Math.round(random.nextDouble() * 50000) / 100.0 });
+                }
+
+                for (double[] fee : fees) {
+                    double regular = rules.apply(MemberStats.REGULAR, fee[0], rating, goal);
+                    double pt = rules.apply(MemberStats.PT, fee[0] + fee[1], rating, goal);
+                    checked += 2;
+                    if (!sameBits(regular, legacyRegularFee(fee[0], goal))
+                            || !sameBits(pt, legacyPtFee(fee[0], fee[1], rating, goal))) {
+                        if (mismatches++ < 5) {
+                            fail(name + ": fee differs for rating " + rating + ", goal " + goal
+                                    + ", fees " + fee[0] + "/" + fee[1]);
+                        }
+                    }
+                }
+            }
+        }
+        check(mismatches == 0, name + ": " + mismatches + " of " + checked + " fees differ");
+    }
+
+    private static void membersUseInstalledRules() {
+        FeeRules.install(FeeRules.DEFAULT);
+        for (int rating = 0; rating <= 100; rating++) {
+            for (boolean goal : new boolean[] { false, true }) {
+                RegularMember regular = new RegularMember("R1", "Regular Member", 30, 45.55);
+                regular.setPerformanceRating(rating);
+                regular.setAchievedGoal(goal);
+                PTMember pt = new PTMember("P1", "Pt Member", 30, 45.55, 60.10);
+                pt.setPerformanceRating(rating);
+                pt.setAchievedGoal(goal);
+
+                check(sameBits(regular.calculateFee(), legacyRegularFee(45.55, goal)),
+                        "RegularMember fee differs for rating " + rating + ", goal " + goal);
+                check(sameBits(pt.calculateFee(), legacyPtFee(45.55, 60.10, rating, goal)),
+                        "PTMember fee differs for rating " + rating + ", goal " + goal);
+            }
+        }
+    }
+
+    private static void installRebuildsEveryManager() throws IOException {
+        Path dir = Files.createTempDirectory("fee-rules-test");
+        Path rulesFile = dir.resolve("half.csv");
+        Files.write(rulesFile, Arrays.asList("REGULAR,goal,0.50", "PT,rating,0,0.50"));
+        try {
+            MemberManager first = newManager(dir.resolve("first.csv"), "F");
+            MemberManager second = newManager(dir.resolve("second.csv"), "S");
+
+            check(first.reloadFeeRules(rulesFile.toString()), "rules file not loaded");
+            checkStats("reloading manager", first);
+            checkStats("other manager", second);
+
+            MemberManager.installFeeRules(FeeRules.DEFAULT);
+            checkStats("reloading manager after restore", first);
+            checkStats("other manager after restore", second);
+        } finally {
+            Files.deleteIfExists(rulesFile);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static MemberManager newManager(Path file, String prefix) {
+        MemberManager manager = new MemberManager(file.toString());
+        manager.setVerbose(false);
+        for (int i = 0; i < 20; i++) {
+            Member member = i % 2 == 0
+                    ? new RegularMember(prefix + i, "Member " + prefix + i, 20 + i, 40 + i)
+                    : new PTMember(prefix + i, "Member " + prefix + i, 20 + i, 40 + i, 30 + i);
+            member.setPerformanceRating(i * 5);
+            member.setAchievedGoal(i % 3 == 0);
+            manager.addMember(member);
+        }
+        return manager;
+    }
+
+    /**
+     * Compares a manager's running revenue with its members' current fees.
+     */
+    private static void checkStats(String name, MemberManager manager) {
+        long expected = 0;
+        for (Member member : manager.snapshot()) {
+            expected += MemberStats.toCents(member.calculateFee());
+        }
+        long actual = MemberStats.toCents(manager.getStats().getTotalMonthlyRevenue());
+        check(actual == expected, name + ": statistics show revenue " + actual + " cents, members add up to "
+                + expected);
+    }
+
+    private static void invalidRulesAreRejected() throws IOException {
+        Path rulesFile = Files.createTempFile("fee-rules-test", ".csv");
+        try {
+            for (String rule : new String[] { "PT,rating,90,0.85\nPT,rating,90,0.80", "GOLD,goal,0.9",
+                    "PT,rating,101,0.9", "REGULAR,goal,-1", "REGULAR,goal" }) {
+                Files.write(rulesFile, Arrays.asList(rule.split("\n")));
+                try {
+                    FeeRules.load(rulesFile);
+                    fail("rules accepted: " + rule.replace('\n', ' '));
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+        } finally {
+            Files.deleteIfExists(rulesFile);
+        }
+    }
+
+    private static boolean sameBits(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            fail(message);
+        }
+    }
+
+    private static void fail(String message) {
+        failures++;
+        System.out.println("✗ " + message);
+    }
+}